@@ -0,0 +1,69 @@
+package com.EMS.auth;
+
+import com.EMS.resource.EmployeeResource;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.SecurityContext;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoleAuthFilterBenchmark {
+
+    @Param({"ADMIN", "EMPLOYEE"})
+    private String role;
+
+    private RoleAuthFilter filter;
+    private ContainerRequestContext request;
+    private int aborted;
+
+    @Setup
+    public void setUp() throws Exception {
+        Method method = EmployeeResource.class.getMethod("archiveEmployee", int.class, String.class,
+                AsyncResponse.class);
+        ResourceInfo resourceInfo = proxy(ResourceInfo.class, name -> switch (name) {
+            case "getResourceMethod" -> method;
+            case "getResourceClass" -> EmployeeResource.class;
+            default -> null;
+        });
+        filter = new RoleAuthFilter();
+        Field field = RoleAuthFilter.class.getDeclaredField("resourceInfo");
+        field.setAccessible(true);
+        field.set(filter, resourceInfo);
+
+        SecurityContext security = (SecurityContext) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{SecurityContext.class}, (p, m, args) ->
+                        m.getName().equals("isUserInRole") ? role.equals(args[0]) : null);
+        request = (ContainerRequestContext) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{ContainerRequestContext.class}, (p, m, args) -> switch (m.getName()) {
+                    case "getSecurityContext" -> security;
+                    case "abortWith" -> {
+                        aborted++;
+                        yield null;
+                    }
+                    default -> null;
+                });
+    }
+
+    @Benchmark
+    public int filter() {
+        filter.filter(request);
+        return aborted;
+    }
+
+    private static <T> T proxy(Class<T> type, Function<String, Object> answers) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (p, m, args) -> answers.apply(m.getName())));
+    }
+}
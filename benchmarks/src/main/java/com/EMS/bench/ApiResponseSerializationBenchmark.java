@@ -0,0 +1,36 @@
+package com.EMS.bench;
+
+import com.EMS.JacksonConfig;
+import com.EMS.entity.Employee;
+import com.EMS.util.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({"1", "100", "1000"})
+    private int size;
+
+    private ApiResponse<List<Employee>> response;
+    private ObjectWriter writer;
+
+    @Setup
+    public void setUp() {
+        response = ApiResponse.success(Fixtures.employees(size));
+        writer = JacksonConfig.getMapper().writer();
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return writer.writeValueAsBytes(response);
+    }
+}
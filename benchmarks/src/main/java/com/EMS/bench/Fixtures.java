@@ -0,0 +1,69 @@
+package com.EMS.bench;
+
+import com.EMS.entity.Department;
+import com.EMS.entity.Employee;
+import com.EMS.entity.Position;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class Fixtures {
+
+    private static final String[] FIRST_NAMES = {"Alice", "Bogdan", "Chen", "Dana", "Emeka", "Farah", "Goran", "Hana"};
+    private static final String[] LAST_NAMES = {"Novak", "Ivanova", "Okafor", "Schmidt", "Tanaka", "Haddad", "Silva"};
+    private static final String[] DEPARTMENTS = {"Engineering", "Finance", "Human Resources", "Sales", "Support"};
+    private static final String[] TITLES = {"Engineer", "Analyst", "Manager", "Specialist", "Director"};
+
+    private Fixtures() {
+    }
+
+    public static Employee employee(int i) {
+        Employee employee = new Employee();
+        employee.setEmployeeId(i + 1);
+        employee.setFirstName(FIRST_NAMES[i % FIRST_NAMES.length]);
+        employee.setLastName(LAST_NAMES[i % LAST_NAMES.length]);
+        employee.setEmail("employee" + i + "@example.com");
+        employee.setPhone("+1-555-" + String.format("%04d", i % 10000));
+        employee.setHireDate(LocalDate.of(2015, 1, 1).plusDays(i % 3000));
+        employee.setSalary(BigDecimal.valueOf(40000 + (i * 37L) % 90000, 0).setScale(2));
+        employee.setStatus(Employee.EmployeeStatus.ACTIVE);
+        employee.setUpdatedAt(LocalDateTime.of(2024, 6, 1, 12, 0).plusMinutes(i));
+
+        Department department = new Department();
+        department.setDepartmentId(i % DEPARTMENTS.length + 1);
+        department.setDepartmentName(DEPARTMENTS[i % DEPARTMENTS.length]);
+        employee.setDepartment(department);
+
+        Position position = new Position();
+        position.setPositionId(i % TITLES.length + 1);
+        position.setTitle(TITLES[i % TITLES.length]);
+        position.setPayGrade("G" + (i % TITLES.length + 1));
+        employee.setPosition(position);
+        return employee;
+    }
+
+    public static List<Employee> employees(int count) {
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) employees.add(employee(i));
+        return employees;
+    }
+
+    public static Map<String, Object> requestBody(int i) {
+        Employee employee = employee(i);
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("firstName", employee.getFirstName());
+        body.put("lastName", employee.getLastName());
+        body.put("email", employee.getEmail());
+        body.put("phone", employee.getPhone());
+        body.put("hireDate", employee.getHireDate().toString());
+        body.put("salary", employee.getSalary().doubleValue());
+        body.put("department", Map.of("departmentId", employee.getDepartment().getDepartmentId()));
+        body.put("position", Map.of("positionId", employee.getPosition().getPositionId()));
+        return body;
+    }
+}
@@ -0,0 +1,60 @@
+package com.EMS.bench;
+
+import com.EMS.entity.Employee;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Forward-only ResultSet over the columns of EmployeeDAO.BASE_SELECT; rewind() before each pass.
+public final class InMemoryResultSet {
+
+    private static final String[] COLUMNS = {"employee_id", "first_name", "last_name", "email", "phone",
+            "hire_date", "salary", "status", "updated_at", "department_id", "department_name",
+            "position_id", "title", "pay_grade"};
+
+    private final Map<String, Integer> index = new HashMap<>();
+    private final Object[][] rows;
+    private final ResultSet resultSet;
+    private int cursor = -1;
+
+    public InMemoryResultSet(List<Employee> employees) {
+        for (int i = 0; i < COLUMNS.length; i++) index.put(COLUMNS[i], i);
+        rows = new Object[employees.size()][];
+        for (int i = 0; i < rows.length; i++) rows[i] = row(employees.get(i));
+        resultSet = (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "next" -> ++cursor < rows.length;
+                    case "getInt" -> (Integer) value(args[0]);
+                    case "getString", "getDate", "getBigDecimal", "getTimestamp" -> value(args[0]);
+                    case "wasNull" -> false;
+                    case "close" -> null;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    public ResultSet resultSet() {
+        return resultSet;
+    }
+
+    public void rewind() {
+        cursor = -1;
+    }
+
+    private Object value(Object column) {
+        return rows[cursor][index.get((String) column)];
+    }
+
+    private static Object[] row(Employee e) {
+        return new Object[]{e.getEmployeeId(), e.getFirstName(), e.getLastName(), e.getEmail(), e.getPhone(),
+                Date.valueOf(e.getHireDate()), new BigDecimal(e.getSalary().toPlainString()), e.getStatus().name(),
+                Timestamp.valueOf(e.getUpdatedAt()), e.getDepartment().getDepartmentId(),
+                e.getDepartment().getDepartmentName(), e.getPosition().getPositionId(),
+                e.getPosition().getTitle(), e.getPosition().getPayGrade()};
+    }
+}
@@ -0,0 +1,59 @@
+package com.EMS.bench;
+
+import com.EMS.JacksonConfig;
+import com.EMS.entity.Employee;
+import com.EMS.util.ApiResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// JSON vs CBOR (with string references) vs Smile (with shared names and values) for an employee list.
+// The encoded size of each combination is printed during setup.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"100", "10000"})
+    private int size;
+
+    private ApiResponse<List<Employee>> response;
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper mapper = switch (format) {
+            case "cbor" -> JacksonConfig.getCborMapper();
+            case "smile" -> JacksonConfig.getSmileMapper();
+            default -> JacksonConfig.getMapper();
+        };
+        response = ApiResponse.success(Fixtures.employees(size));
+        writer = mapper.writer();
+        reader = mapper.readerFor(JsonNode.class);
+        encoded = writer.writeValueAsBytes(response);
+        System.out.printf("%n%s, %d employees: %d bytes%n", format, size, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws Exception {
+        return writer.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public JsonNode decode() throws Exception {
+        return reader.readValue(encoded);
+    }
+}
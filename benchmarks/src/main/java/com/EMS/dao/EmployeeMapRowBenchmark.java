@@ -0,0 +1,35 @@
+package com.EMS.dao;
+
+import com.EMS.bench.Fixtures;
+import com.EMS.bench.InMemoryResultSet;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.ResultSet;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmployeeMapRowBenchmark {
+
+    @Param({"1", "100", "1000"})
+    private int rows;
+
+    private InMemoryResultSet source;
+
+    @Setup
+    public void setUp() {
+        source = new InMemoryResultSet(Fixtures.employees(rows));
+    }
+
+    @Benchmark
+    public void mapRows(Blackhole blackhole) throws Exception {
+        source.rewind();
+        ResultSet resultSet = source.resultSet();
+        while (resultSet.next()) blackhole.consume(EmployeeDAO.mapRow(resultSet));
+    }
+}
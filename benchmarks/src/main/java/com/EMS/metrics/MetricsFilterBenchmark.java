@@ -0,0 +1,44 @@
+package com.EMS.metrics;
+
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsFilterBenchmark {
+
+    private MetricsFilter filter;
+    private ContainerRequestContext request;
+    private ContainerResponseContext response;
+
+    @Setup
+    public void setUp() {
+        filter = new MetricsFilter(RequestMetrics.getInstance().endpoint("GET", "/employees/search"));
+        Map<String, Object> properties = new HashMap<>();
+        request = (ContainerRequestContext) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{ContainerRequestContext.class}, (p, m, args) -> switch (m.getName()) {
+                    case "setProperty" -> properties.put((String) args[0], args[1]);
+                    case "getProperty" -> properties.get((String) args[0]);
+                    default -> null;
+                });
+        response = (ContainerResponseContext) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{ContainerResponseContext.class}, (p, m, args) ->
+                        m.getName().equals("getStatus") ? 200 : null);
+    }
+
+    @Benchmark
+    public void requestAndResponse() {
+        filter.filter(request);
+        filter.filter(request, response);
+    }
+}
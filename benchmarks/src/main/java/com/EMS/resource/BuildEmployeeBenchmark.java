@@ -0,0 +1,39 @@
+package com.EMS.resource;
+
+import com.EMS.bench.Fixtures;
+import com.EMS.entity.Employee;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BuildEmployeeBenchmark {
+
+    @Param({"1", "100", "1000"})
+    private int size;
+
+    private List<Map<String, Object>> bodies;
+
+    @Setup
+    public void setUp() {
+        bodies = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) bodies.add(Fixtures.requestBody(i));
+    }
+
+    @Benchmark
+    public void buildEmployees(Blackhole blackhole) {
+        for (Map<String, Object> body : bodies) {
+            Employee employee = EmployeeResource.buildEmployeeFromMap(body);
+            blackhole.consume(employee);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.EMS.util;
+
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        token = JwtUtil.generateToken("bench.user", "ADMIN");
+        JwtUtil.authenticate(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return JwtUtil.generateToken("bench.user", "ADMIN");
+    }
+
+    @Benchmark
+    public Claims validateToken() {
+        return JwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public TokenCache.AuthenticatedUser authenticateCached() {
+        return JwtUtil.authenticate(token);
+    }
+}
@@ -0,0 +1,157 @@
+package com.EMS.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+public class DatasetGenerator {
+
+    static final String[] FIRST_NAMES = {"Alice", "Bogdan", "Chen", "Dana", "Emeka", "Farah", "Goran", "Hana",
+            "Ivan", "Julia", "Kofi", "Lena", "Mateo", "Nadia", "Omar", "Priya", "Quinn", "Rosa", "Sven", "Tariq",
+            "Uma", "Viktor", "Wen", "Ximena", "Yusuf", "Zofia"};
+    static final String[] LAST_NAMES = {"Novak", "Ivanova", "Okafor", "Schmidt", "Tanaka", "Haddad", "Silva",
+            "Kowalski", "Nguyen", "Garcia", "Petrov", "Mensah", "Larsen", "Rossi", "Kim", "Dubois", "Fischer",
+            "Moreau", "Jensen", "Costa", "Horvat", "Yilmaz", "Sato", "Bauer", "Lopez", "Murphy"};
+    static final String[] TERMINATION_REASONS = {"Resigned", "Retired", "Contract ended", "Laid off", "Relocated"};
+    static final String PASSWORD = "loadtest";
+    private static final int BATCH = 1000;
+    private static final LocalDate FIRST_HIRE = LocalDate.of(2005, 1, 1);
+    private static final int HIRE_SPAN_DAYS = 7000;
+
+    private final LoadTestOptions options;
+    private final SplittableRandom random;
+
+    public DatasetGenerator(LoadTestOptions options) {
+        this.options = options;
+        this.random = new SplittableRandom(options.getLong("seed"));
+    }
+
+    public void generate(Connection connection) throws SQLException, IOException {
+        long start = System.nanoTime();
+        connection.setAutoCommit(false);
+        createSchema(connection);
+        int departments = options.getInt("departments");
+        int positions = options.getInt("positions");
+        insertDepartments(connection, departments);
+        insertPositions(connection, positions);
+        insertEmployees(connection, "employees", options.getInt("employees"), departments, positions);
+        insertEmployees(connection, "past_employees", options.getInt("past"), departments, positions);
+        insertUsers(connection, options.getInt("users"));
+        connection.commit();
+        connection.setAutoCommit(true);
+        System.out.printf("Seeded %s departments, %s positions, %s employees, %s past employees in %d ms%n",
+                departments, positions, options.get("employees"), options.get("past"),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void createSchema(Connection connection) throws SQLException, IOException {
+        String ddl;
+        try (InputStream in = DatasetGenerator.class.getResourceAsStream("/loadtest-schema.sql")) {
+            if (in == null) throw new IOException("loadtest-schema.sql not found on the classpath");
+            ddl = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            for (String sql : ddl.split(";")) {
+                if (!sql.isBlank()) statement.execute(sql);
+            }
+        }
+    }
+
+    private void insertDepartments(Connection connection, int count) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(
+                "INSERT INTO departments (department_name, description) VALUES (?, ?)")) {
+            for (int i = 1; i <= count; i++) {
+                ps.setString(1, "Department " + i);
+                ps.setString(2, "Synthetic department " + i);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    private void insertPositions(Connection connection, int count) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(
+                "INSERT INTO positions (title, pay_grade) VALUES (?, ?)")) {
+            for (int i = 1; i <= count; i++) {
+                ps.setString(1, "Position " + i);
+                ps.setString(2, "G" + (i % 10 + 1));
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    private void insertEmployees(Connection connection, String table, int count, int departments, int positions)
+            throws SQLException {
+        boolean past = table.equals("past_employees");
+        String sql = past
+                ? "INSERT INTO past_employees (original_employee_id, first_name, last_name, email, phone, department_id, " +
+                  "position_id, hire_date, salary, termination_date, termination_reason) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)"
+                : "INSERT INTO employees (first_name, last_name, email, phone, department_id, position_id, hire_date, " +
+                  "salary, status, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, 'ACTIVE', ?)";
+        Timestamp now = Timestamp.valueOf(LocalDateTime.of(2024, 1, 1, 0, 0));
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            for (int i = 0; i < count; i++) {
+                int p = 1;
+                LocalDate hireDate = FIRST_HIRE.plusDays(random.nextInt(HIRE_SPAN_DAYS));
+                if (past) ps.setInt(p++, 10_000_000 + i);
+                String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+                String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+                ps.setString(p++, first);
+                ps.setString(p++, last);
+                ps.setString(p++, (first + "." + last + "." + (past ? "p" : "") + i + "@example.com").toLowerCase());
+                ps.setString(p++, String.format("+1-555-%07d", random.nextInt(10_000_000)));
+                ps.setInt(p++, skewed(departments));
+                ps.setInt(p++, skewed(positions));
+                ps.setDate(p++, Date.valueOf(hireDate));
+                ps.setBigDecimal(p++, BigDecimal.valueOf(30_000_00L + random.nextInt(170_000_00), 2));
+                if (past) {
+                    ps.setDate(p++, Date.valueOf(hireDate.plusDays(30 + random.nextInt(2000))));
+                    ps.setString(p, TERMINATION_REASONS[random.nextInt(TERMINATION_REASONS.length)]);
+                } else {
+                    ps.setTimestamp(p, now);
+                }
+                ps.addBatch();
+                if ((i + 1) % BATCH == 0) {
+                    ps.executeBatch();
+                    connection.commit();
+                }
+            }
+            ps.executeBatch();
+        }
+    }
+
+    private void insertUsers(Connection connection, int count) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(
+                "INSERT INTO users (username, password_hash, role, is_active) VALUES (?, ?, ?, TRUE)")) {
+            for (int i = 0; i < Math.max(1, count); i++) {
+                ps.setString(1, username(i));
+                ps.setString(2, PASSWORD);
+                ps.setString(3, i == 0 ? "ADMIN" : (i % 3 == 0 ? "HR" : "VIEWER"));
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    static String username(int i) {
+        return "loadtest" + i;
+    }
+
+    // Skewed towards low ids so a few departments and positions hold most employees.
+    private int skewed(int n) {
+        double u = random.nextDouble();
+        return Math.min(n, 1 + (int) (n * u * u));
+    }
+}
@@ -0,0 +1,155 @@
+package com.EMS.loadtest;
+
+import com.EMS.Main;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class LoadTest {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+    private static final double NANOS_PER_MS = 1_000_000.0;
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        System.out.println("Load test options: " + options);
+
+        String url = jdbcUrl(options);
+        // Keeps the in-memory database alive while the harness seeds it and the app opens its pool.
+        Connection keepAlive = DriverManager.getConnection(url, "sa", "");
+        new DatasetGenerator(options).generate(keepAlive);
+
+        int port = options.getInt("port");
+        System.setProperty("ems.db.driver", "org.h2.Driver");
+        System.setProperty("ems.db.url", url);
+        System.setProperty("ems.db.username", "sa");
+        System.setProperty("ems.db.password", "");
+        System.setProperty("ems.db.streamFetchSize", "1000");
+        System.setProperty("ems.server.port", String.valueOf(port));
+        System.setProperty("ems.server.threads", options.get("threads"));
+        System.setProperty("ems.server.appDir", options.get("appDir"));
+        startServer();
+
+        String baseUrl = "http://localhost:" + port;
+        String token = awaitLogin(baseUrl);
+        Map<String, Workload.Result> results = new Workload(baseUrl, token, options).run();
+        writeReports(options, results);
+        keepAlive.close();
+        System.exit(0);
+    }
+
+    private static String jdbcUrl(LoadTestOptions options) {
+        String mode = ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE";
+        return switch (options.get("db")) {
+            case "mem" -> "jdbc:h2:mem:ems-loadtest" + mode + ";DB_CLOSE_DELAY=-1";
+            case "file" -> "jdbc:h2:" + new File("target/loadtest-db/ems").getAbsolutePath() + mode;
+            default -> throw new IllegalArgumentException("--db must be mem or file.");
+        };
+    }
+
+    private static void startServer() {
+        Thread server = new Thread(() -> {
+            try {
+                Main.main(new String[0]);
+            } catch (Exception e) {
+                e.printStackTrace();
+                System.exit(1);
+            }
+        }, "ems-server");
+        server.setDaemon(true);
+        server.start();
+    }
+
+    private static String awaitLogin(String baseUrl) throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest login = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"" + DatasetGenerator.username(0)
+                        + "\",\"password\":\"" + DatasetGenerator.PASSWORD + "\"}"))
+                .timeout(Duration.ofSeconds(10))
+                .build();
+        long deadline = System.nanoTime() + Duration.ofMinutes(2).toNanos();
+        while (true) {
+            try {
+                HttpResponse<String> response = client.send(login, HttpResponse.BodyHandlers.ofString());
+                Matcher matcher = TOKEN.matcher(response.body());
+                if (response.statusCode() == 200 && matcher.find()) return matcher.group(1);
+                throw new IllegalStateException("Login failed with HTTP " + response.statusCode() + ": " + response.body());
+            } catch (IOException e) {
+                if (System.nanoTime() > deadline) throw new IllegalStateException("Server did not start in time", e);
+                Thread.sleep(250);
+            }
+        }
+    }
+
+    private static void writeReports(LoadTestOptions options, Map<String, Workload.Result> results) throws IOException {
+        Path dir = Path.of(options.get("out"), LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")));
+        Files.createDirectories(dir);
+
+        Histogram all = null;
+        try (PrintStream log = new PrintStream(dir.resolve("latency.hlog").toFile())) {
+            HistogramLogWriter writer = new HistogramLogWriter(log);
+            writer.outputComment("EMS load test " + options);
+            writer.outputLogFormatVersion();
+            writer.outputLegend();
+            for (Map.Entry<String, Workload.Result> entry : results.entrySet()) {
+                Histogram histogram = entry.getValue().getHistogram();
+                histogram.setTag(entry.getKey());
+                writer.outputIntervalHistogram(histogram);
+                try (PrintStream out = new PrintStream(dir.resolve(entry.getKey() + ".hgrm").toFile())) {
+                    histogram.outputPercentileDistribution(out, NANOS_PER_MS);
+                }
+                if (all == null) all = histogram.copy();
+                else all.add(histogram);
+            }
+        }
+
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format("%-10s %9s %7s %7s %9s %9s %9s %9s %9s %9s%n", "operation", "count", "errors",
+                "dropped", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        long errors = 0, dropped = 0;
+        double throughput = 0;
+        for (Map.Entry<String, Workload.Result> entry : results.entrySet()) {
+            Workload.Result result = entry.getValue();
+            row(summary, entry.getKey(), result.getHistogram(), result.getErrors(), result.getDropped(), result.getThroughput());
+            errors += result.getErrors();
+            dropped += result.getDropped();
+            throughput += result.getThroughput();
+        }
+        if (all != null) {
+            row(summary, "all", all, errors, dropped, throughput);
+            try (PrintStream out = new PrintStream(dir.resolve("all.hgrm").toFile())) {
+                all.outputPercentileDistribution(out, NANOS_PER_MS);
+            }
+        }
+        Files.writeString(dir.resolve("summary.txt"), summary.toString());
+        System.out.print(summary);
+        System.out.println("Reports written to " + dir.toAbsolutePath());
+    }
+
+    private static void row(StringBuilder summary, String name, Histogram h, long errors, long dropped, double throughput) {
+        summary.append(String.format("%-10s %9d %7d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", name, h.getTotalCount(),
+                errors, dropped, throughput, ms(h, 50), ms(h, 90), ms(h, 99), ms(h, 99.9), h.getMaxValue() / NANOS_PER_MS));
+    }
+
+    private static double ms(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / NANOS_PER_MS;
+    }
+}
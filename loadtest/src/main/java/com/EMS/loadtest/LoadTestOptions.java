@@ -0,0 +1,77 @@
+package com.EMS.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class LoadTestOptions {
+
+    private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        DEFAULTS.put("db", "mem");
+        DEFAULTS.put("seed", "42");
+        DEFAULTS.put("departments", "20");
+        DEFAULTS.put("positions", "40");
+        DEFAULTS.put("employees", "100000");
+        DEFAULTS.put("past", "20000");
+        DEFAULTS.put("users", "50");
+        DEFAULTS.put("port", "18080");
+        DEFAULTS.put("appDir", "..");
+        DEFAULTS.put("threads", "platform");
+        DEFAULTS.put("rate", "200");
+        DEFAULTS.put("warmup", "15");
+        DEFAULTS.put("duration", "60");
+        DEFAULTS.put("maxInFlight", "2000");
+        DEFAULTS.put("pageSize", "100");
+        DEFAULTS.put("mix", "employees=35,search=30,past=5,lookups=20,login=10");
+        DEFAULTS.put("out", "target/loadtest");
+    }
+
+    private final Map<String, String> values = new LinkedHashMap<>(DEFAULTS);
+
+    public static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            if (arg.equals("--help") || arg.equals("-h")) {
+                System.out.println("Options (defaults shown):");
+                DEFAULTS.forEach((key, value) -> System.out.println("  --" + key + "=" + value));
+                System.exit(0);
+            }
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0)
+                throw new IllegalArgumentException("Expected --key=value but got '" + arg + "'.");
+            String key = arg.substring(2, eq);
+            if (!DEFAULTS.containsKey(key)) throw new IllegalArgumentException("Unknown option --" + key + ".");
+            options.values.put(key, arg.substring(eq + 1));
+        }
+        return options;
+    }
+
+    public String get(String key) {
+        return values.get(key);
+    }
+
+    public int getInt(String key) {
+        return Integer.parseInt(values.get(key).replace("_", ""));
+    }
+
+    public long getLong(String key) {
+        return Long.parseLong(values.get(key).replace("_", ""));
+    }
+
+    public Map<String, Integer> getWeights(String key) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String part : values.get(key).split(",")) {
+            String[] pair = part.trim().split("=");
+            if (pair.length != 2) throw new IllegalArgumentException("Expected name=weight in --" + key + ".");
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) weights.put(pair[0].trim(), weight);
+        }
+        return weights;
+    }
+
+    @Override
+    public String toString() {
+        return values.toString();
+    }
+}
@@ -0,0 +1,214 @@
+package com.EMS.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+// Open-model driver: requests are issued on a fixed schedule regardless of how fast responses come back,
+// and latency is measured from the scheduled start so queueing delay is not hidden (coordinated omission).
+public class Workload {
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final String token;
+    private final LoadTestOptions options;
+    private final SplittableRandom random;
+    private final List<Operation> operations = new ArrayList<>();
+    private final int totalWeight;
+    private final Semaphore inFlight;
+
+    public Workload(String baseUrl, String token, LoadTestOptions options) {
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        this.baseUrl = baseUrl;
+        this.token = token;
+        this.options = options;
+        this.random = new SplittableRandom(options.getLong("seed") + 1);
+        this.inFlight = new Semaphore(options.getInt("maxInFlight"));
+        Map<String, Function<SplittableRandom, HttpRequest>> requests = requests();
+        int total = 0;
+        for (Map.Entry<String, Integer> weight : options.getWeights("mix").entrySet()) {
+            Function<SplittableRandom, HttpRequest> factory = requests.get(weight.getKey());
+            if (factory == null)
+                throw new IllegalArgumentException("Unknown operation '" + weight.getKey() + "' in --mix; expected one of " + requests.keySet());
+            total += weight.getValue();
+            operations.add(new Operation(weight.getKey(), total, factory));
+        }
+        if (operations.isEmpty()) throw new IllegalArgumentException("--mix has no operations with a positive weight.");
+        this.totalWeight = total;
+    }
+
+    private Map<String, Function<SplittableRandom, HttpRequest>> requests() {
+        int pageSize = options.getInt("pageSize");
+        int users = Math.max(1, options.getInt("users"));
+        Map<String, Function<SplittableRandom, HttpRequest>> requests = new LinkedHashMap<>();
+        requests.put("employees", r -> get("/api/employees?limit=" + pageSize));
+        requests.put("search", r -> {
+            String name = DatasetGenerator.LAST_NAMES[r.nextInt(DatasetGenerator.LAST_NAMES.length)];
+            return get("/api/employees/search?name=" + name.substring(0, Math.min(4, name.length())) + "&limit=" + pageSize);
+        });
+        requests.put("past", r -> {
+            String path = "/api/employees/past?limit=" + pageSize;
+            int year = 2006 + r.nextInt(18);
+            if (r.nextBoolean()) path += "&from=" + year + "-01-01&to=" + year + "-12-31";
+            if (r.nextInt(4) == 0) {
+                String reason = DatasetGenerator.TERMINATION_REASONS[r.nextInt(DatasetGenerator.TERMINATION_REASONS.length)];
+                path += "&reason=" + URLEncoder.encode(reason, StandardCharsets.UTF_8);
+            }
+            return get(path);
+        });
+        requests.put("lookups", r -> get(r.nextBoolean() ? "/api/lookups/departments" : "/api/lookups/positions"));
+        requests.put("login", r -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .timeout(Duration.ofSeconds(60))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"" + DatasetGenerator.username(r.nextInt(users))
+                        + "\",\"password\":\"" + DatasetGenerator.PASSWORD + "\"}"))
+                .build());
+        return requests;
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(60))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    public Map<String, Result> run() {
+        double rate = options.getInt("rate");
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long warmupNanos = TimeUnit.SECONDS.toNanos(options.getLong("warmup"));
+        long durationNanos = TimeUnit.SECONDS.toNanos(options.getLong("duration"));
+
+        System.out.printf("Driving %.0f req/s for %ds warm-up + %ds measured, mix %s%n",
+                rate, options.getLong("warmup"), options.getLong("duration"), options.get("mix"));
+        long start = System.nanoTime();
+        long measureFrom = start + warmupNanos;
+        long end = measureFrom + durationNanos;
+        boolean measuring = false;
+        for (long i = 0; ; i++) {
+            long scheduled = start + i * intervalNanos;
+            if (scheduled >= end) break;
+            if (!measuring && scheduled >= measureFrom) {
+                measuring = true;
+                for (Operation operation : operations) operation.reset();
+            }
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) LockSupport.parkNanos(wait);
+            issue(pick(), scheduled, measuring);
+        }
+        long measuredNanos = System.nanoTime() - measureFrom;
+        try {
+            inFlight.acquire(options.getInt("maxInFlight"));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (Operation operation : operations) {
+            results.put(operation.name, new Result(operation.recorder.getIntervalHistogram(),
+                    operation.errors.get(), operation.dropped.get(), measuredNanos));
+        }
+        return results;
+    }
+
+    private Operation pick() {
+        int roll = random.nextInt(totalWeight);
+        for (Operation operation : operations) {
+            if (roll < operation.cumulativeWeight) return operation;
+        }
+        return operations.get(operations.size() - 1);
+    }
+
+    private void issue(Operation operation, long scheduled, boolean measured) {
+        if (!inFlight.tryAcquire()) {
+            if (measured) operation.dropped.incrementAndGet();
+            return;
+        }
+        HttpRequest request = operation.factory.apply(random);
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+            long latency = System.nanoTime() - scheduled;
+            inFlight.release();
+            if (!measured) return;
+            operation.recorder.recordValue(Math.min(latency, HIGHEST_TRACKABLE_NANOS));
+            if (error != null || response.statusCode() >= 400) operation.errors.incrementAndGet();
+        });
+    }
+
+    private static class Operation {
+
+        private final String name;
+        private final int cumulativeWeight;
+        private final Function<SplittableRandom, HttpRequest> factory;
+        private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_NANOS, 3);
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong dropped = new AtomicLong();
+
+        Operation(String name, int cumulativeWeight, Function<SplittableRandom, HttpRequest> factory) {
+            this.name = name;
+            this.cumulativeWeight = cumulativeWeight;
+            this.factory = factory;
+        }
+
+        void reset() {
+            recorder.reset();
+            errors.set(0);
+            dropped.set(0);
+        }
+    }
+
+    public static class Result {
+
+        private final Histogram histogram;
+        private final long errors;
+        private final long dropped;
+        private final long elapsedNanos;
+
+        Result(Histogram histogram, long errors, long dropped, long elapsedNanos) {
+            this.histogram = histogram;
+            this.errors = errors;
+            this.dropped = dropped;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public Histogram getHistogram() {
+            return histogram;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        public long getDropped() {
+            return dropped;
+        }
+
+        public double getThroughput() {
+            return histogram.getTotalCount() / (elapsedNanos / 1e9);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+CREATE TABLE departments (
+    department_id   INT AUTO_INCREMENT PRIMARY KEY,
+    department_name VARCHAR(100) NOT NULL UNIQUE,
+    description     VARCHAR(255),
+    created_at      TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE positions (
+    position_id INT AUTO_INCREMENT PRIMARY KEY,
+    title       VARCHAR(100) NOT NULL UNIQUE,
+    pay_grade   VARCHAR(10)  NOT NULL,
+    created_at  TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE employees (
+    employee_id   INT AUTO_INCREMENT PRIMARY KEY,
+    first_name    VARCHAR(100)   NOT NULL,
+    last_name     VARCHAR(100)   NOT NULL,
+    email         VARCHAR(150)   NOT NULL UNIQUE,
+    phone         VARCHAR(20),
+    department_id INT            NOT NULL REFERENCES departments (department_id),
+    position_id   INT            NOT NULL REFERENCES positions (position_id),
+    hire_date     DATE           NOT NULL,
+    salary        DECIMAL(12, 2) NOT NULL,
+    status        VARCHAR(10)    NOT NULL DEFAULT 'ACTIVE',
+    created_at    TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at    TIMESTAMP
+);
+CREATE INDEX idx_employees_status_name ON employees (status, last_name, first_name, employee_id);
+
+CREATE TABLE past_employees (
+    past_employee_id     INT AUTO_INCREMENT PRIMARY KEY,
+    original_employee_id INT            NOT NULL,
+    first_name           VARCHAR(100)   NOT NULL,
+    last_name            VARCHAR(100)   NOT NULL,
+    email                VARCHAR(150)   NOT NULL,
+    phone                VARCHAR(20),
+    department_id        INT            NOT NULL REFERENCES departments (department_id),
+    position_id          INT            NOT NULL REFERENCES positions (position_id),
+    hire_date            DATE           NOT NULL,
+    salary               DECIMAL(12, 2) NOT NULL,
+    termination_date     DATE           NOT NULL,
+    termination_reason   VARCHAR(255),
+    archived_at          TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+-- H2 has no MySQL-style partitioning, these are the indexes from src/main/resources/db/past_employees_partitioned.sql.
+CREATE INDEX idx_past_termination ON past_employees (termination_date DESC, past_employee_id DESC);
+CREATE INDEX idx_past_department ON past_employees (department_id, termination_date DESC, past_employee_id DESC);
+CREATE INDEX idx_past_reason ON past_employees (termination_reason, termination_date DESC, past_employee_id DESC);
+
+CREATE TABLE users (
+    user_id       INT AUTO_INCREMENT PRIMARY KEY,
+    username      VARCHAR(80)  NOT NULL UNIQUE,
+    password_hash VARCHAR(255) NOT NULL,
+    role          VARCHAR(10)  NOT NULL,
+    employee_id   INT,
+    is_active     BOOLEAN      NOT NULL DEFAULT TRUE,
+    created_at    TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE employee_changes (
+    change_id   BIGINT AUTO_INCREMENT PRIMARY KEY,
+    employee_id INT          NOT NULL,
+    change_type VARCHAR(10)  NOT NULL,
+    changed_at  TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3)
+);
+CREATE INDEX idx_employee_changes_employee ON employee_changes (employee_id, change_id);
@@ -0,0 +1,94 @@
+package com.EMS;
+
+import com.EMS.assets.StaticAssets;
+import com.EMS.cache.EmployeeStats;
+import com.EMS.cache.PayrollAggregates;
+import com.EMS.dao.ChangeLogDAO;
+import com.EMS.events.ChangeSocket;
+import com.EMS.service.AnalyticsService;
+import com.EMS.util.HibernateUtil;
+import jakarta.servlet.ServletContextEvent;
+import jakarta.servlet.ServletContextListener;
+import jakarta.websocket.DeploymentException;
+import jakarta.websocket.server.ServerContainer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class AppLifecycleListener implements ServletContextListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(AppLifecycleListener.class);
+    private ScheduledExecutorService scheduler;
+
+    @Override
+    public void contextInitialized(ServletContextEvent event) {
+        ServerContainer container = (ServerContainer) event.getServletContext()
+                .getAttribute(ServerContainer.class.getName());
+        if (container != null) {
+            try {
+                container.addEndpoint(ChangeSocket.config());
+                ChangeSocket.start();
+            } catch (DeploymentException e) {
+                logger.error("Could not register the employee change WebSocket", e);
+            }
+        } else {
+            logger.warn("No WebSocket container available; live employee updates are disabled");
+        }
+        StaticAssets.getInstance();
+        try {
+            EmployeeStats.getInstance().rebuild();
+        } catch (Exception e) {
+            logger.error("Could not load employee stats at startup; they will be loaded on first use once the database is reachable", e);
+        }
+        try {
+            PayrollAggregates.getInstance().rebuild();
+        } catch (Exception e) {
+            logger.error("Could not load payroll aggregates at startup; they will be loaded on first use once the database is reachable", e);
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ems-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long checkMinutes = Long.getLong("ems.analytics.verifyMinutes", 60L);
+        if (checkMinutes > 0) {
+            scheduler.scheduleWithFixedDelay(this::verifyAggregates, checkMinutes, checkMinutes, TimeUnit.MINUTES);
+        }
+        int retentionDays = Integer.getInteger("ems.changes.retentionDays", 7);
+        if (retentionDays > 0) {
+            scheduler.scheduleWithFixedDelay(() -> pruneChanges(retentionDays), 1, 60, TimeUnit.MINUTES);
+        }
+    }
+
+    private void pruneChanges(int retentionDays) {
+        try {
+            int deleted = new ChangeLogDAO().prune(retentionDays);
+            if (deleted > 0) logger.info("Pruned {} change log rows older than {} days", deleted, retentionDays);
+        } catch (Exception e) {
+            logger.error("Change log pruning failed", e);
+        }
+    }
+
+    private void verifyAggregates() {
+        try {
+            if (!new AnalyticsService().verify()) logger.warn("Payroll aggregates were rebuilt by the consistency check");
+        } catch (Exception e) {
+            logger.error("Payroll aggregate check failed", e);
+        }
+        try {
+            if (!EmployeeStats.getInstance().verify()) logger.warn("Employee stats were rebuilt by the consistency check");
+        } catch (Exception e) {
+            logger.error("Employee stats check failed", e);
+        }
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent event) {
+        if (scheduler != null) scheduler.shutdownNow();
+        ChangeSocket.stop();
+        HibernateUtil.shutdown();
+    }
+}
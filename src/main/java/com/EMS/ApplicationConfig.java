@@ -2,9 +2,14 @@ package com.EMS;
 
 import com.EMS.auth.JwtAuthFilter;
 import com.EMS.auth.RoleAuthFilter;
+import com.EMS.compression.CompressionFilter;
+import com.EMS.metrics.MetricsFeature;
+import com.EMS.resource.AdminResource;
+import com.EMS.resource.AnalyticsResource;
 import com.EMS.resource.AuthResource;
 import com.EMS.resource.EmployeeResource;
 import com.EMS.resource.LookupResource;
+import com.EMS.resource.MetricsResource;
 import jakarta.ws.rs.ApplicationPath;
 import org.glassfish.jersey.jackson.JacksonFeature;
 import org.glassfish.jersey.server.ResourceConfig;
@@ -16,9 +21,15 @@ public class ApplicationConfig extends ResourceConfig {
         register(AuthResource.class);
         register(EmployeeResource.class);
         register(LookupResource.class);
+        register(AdminResource.class);
+        register(AnalyticsResource.class);
+        register(MetricsResource.class);
+        register(MetricsFeature.class);
         register(JwtAuthFilter.class);
         register(RoleAuthFilter.class);
+        register(CompressionFilter.class);
         register(JacksonFeature.class);
         register(JacksonConfig.class);
+        register(BinaryMessageBodyWriter.class);
     }
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.EMS;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import jakarta.ws.rs.ext.Provider;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+// Writes the same ApiResponse and entity graph as the JSON provider, as CBOR or Smile, for clients
+// that ask for them in Accept.
+@Provider
+@Produces({JacksonConfig.CBOR, JacksonConfig.SMILE})
+public class BinaryMessageBodyWriter implements MessageBodyWriter<Object> {
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return mediaType.isCompatible(JacksonConfig.CBOR_TYPE) || mediaType.isCompatible(JacksonConfig.SMILE_TYPE);
+    }
+
+    @Override
+    public void writeTo(Object value, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                        MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream)
+            throws IOException, WebApplicationException {
+        // Jersey owns the entity stream, so the generator must not close it.
+        JacksonConfig.mapperFor(mediaType).writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .writeValue(entityStream, value);
+    }
+}
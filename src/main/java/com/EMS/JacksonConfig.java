@@ -2,23 +2,61 @@ package com.EMS;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.ext.ContextResolver;
 import jakarta.ws.rs.ext.Provider;
 
 @Provider
 public class JacksonConfig implements ContextResolver<ObjectMapper> {
 
-    private final ObjectMapper mapper;
+    public static final String CBOR = "application/cbor";
+    public static final String SMILE = "application/x-jackson-smile";
+    public static final MediaType CBOR_TYPE = MediaType.valueOf(CBOR);
+    public static final MediaType SMILE_TYPE = MediaType.valueOf(SMILE);
 
-    public JacksonConfig() {
-        mapper = new ObjectMapper();
+    private static final ObjectMapper MAPPER = buildMapper(new ObjectMapper());
+    // Repeated field names and short values (department names, titles, statuses) are written once
+    // and back-referenced afterwards, which is most of the saving on large lists.
+    private static final ObjectMapper CBOR_MAPPER = buildMapper(new ObjectMapper(CBORFactory.builder()
+            .enable(CBORGenerator.Feature.STRINGREF)
+            .build()));
+    private static final ObjectMapper SMILE_MAPPER = buildMapper(new ObjectMapper(SmileFactory.builder()
+            .enable(SmileGenerator.Feature.CHECK_SHARED_NAMES)
+            .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+            .build()));
+
+    private static ObjectMapper buildMapper(ObjectMapper mapper) {
         mapper.registerModule(new JavaTimeModule());
         mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        return mapper;
+    }
+
+    public static ObjectMapper getMapper() {
+        return MAPPER;
+    }
+
+    public static ObjectMapper getCborMapper() {
+        return CBOR_MAPPER;
+    }
+
+    public static ObjectMapper getSmileMapper() {
+        return SMILE_MAPPER;
+    }
+
+    // The mapper for a negotiated response type; anything that is not CBOR or Smile is JSON.
+    public static ObjectMapper mapperFor(MediaType type) {
+        if (type != null && type.isCompatible(CBOR_TYPE)) return CBOR_MAPPER;
+        if (type != null && type.isCompatible(SMILE_TYPE)) return SMILE_MAPPER;
+        return MAPPER;
     }
 
     @Override
     public ObjectMapper getContext(Class<?> type) {
-        return mapper;
+        return MAPPER;
     }
 }
\ No newline at end of file
@@ -11,17 +11,21 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 
 public class Main {
 
     private static final Logger log = LoggerFactory.getLogger(Main.class);
-    private static final int PORT = 8080;
+    private static final int PORT = Integer.getInteger("ems.server.port", 8080);
+    private static final String THREADS = System.getProperty("ems.server.threads", "platform");
+    private static final String APP_DIR = System.getProperty("ems.server.appDir", ".");
 
     public static void main(String[] args) throws Exception {
 
-        String webappDir = new File("src/main/webapp").getAbsolutePath();
+        String webappDir = new File(APP_DIR, "src/main/webapp").getAbsolutePath();
         log.info("Webapp dir: {}", webappDir);
 
         Tomcat tomcat = new Tomcat();
@@ -30,22 +34,28 @@ public class Main {
         Connector connector = new Connector();
         connector.setPort(PORT);
         connector.setURIEncoding("UTF-8");
+        configureThreads(connector);
         tomcat.setConnector(connector);
 
         Path workDir = Files.createTempDirectory("tomcat-work-");
         tomcat.setBaseDir(workDir.toAbsolutePath().toString());
 
+        if (!new File(webappDir).isDirectory()) {
+            webappDir = extractWebXml(workDir);
+            log.info("No webapp dir; serving the packaged assets with {}", webappDir);
+        }
+
         Context ctx = tomcat.addWebapp("", new File(webappDir).getAbsolutePath());
 
         WebResourceRoot resources = new StandardRoot(ctx);
 
-        File classesDir = new File("target/classes");
+        File classesDir = new File(APP_DIR, "target/classes");
         if (classesDir.exists()) {
             resources.addPreResources(new DirResourceSet(
                     resources, "/WEB-INF/classes", classesDir.getAbsolutePath(), "/"));
         }
 
-        File libDir = new File("target/dependency");
+        File libDir = new File(APP_DIR, "target/dependency");
         if (libDir.exists()) {
             resources.addPreResources(new DirResourceSet(
                     resources, "/WEB-INF/lib", libDir.getAbsolutePath(), "/"));
@@ -64,4 +74,29 @@ public class Main {
 
         tomcat.getServer().await();
     }
+
+    // Running from the shaded jar outside the checkout: the assets come from the classpath, only web.xml
+    // has to exist on disk.
+    private static String extractWebXml(Path workDir) throws IOException {
+        Path docBase = workDir.resolve("webapp");
+        Files.createDirectories(docBase.resolve("WEB-INF"));
+        try (InputStream in = Main.class.getClassLoader().getResourceAsStream("webapp/WEB-INF/web.xml")) {
+            if (in == null) throw new IOException("webapp/WEB-INF/web.xml is not on the classpath; build with mvn package");
+            Files.copy(in, docBase.resolve("WEB-INF/web.xml"));
+        }
+        return docBase.toAbsolutePath().toString();
+    }
+
+    private static void configureThreads(Connector connector) {
+        connector.setProperty("maxConnections", System.getProperty("ems.server.maxConnections", "8192"));
+        connector.setProperty("acceptCount", System.getProperty("ems.server.acceptCount", "100"));
+        if ("virtual".equalsIgnoreCase(THREADS)) {
+            connector.setProperty("useVirtualThreads", "true");
+            log.info("Connector using virtual threads");
+        } else {
+            connector.setProperty("maxThreads", System.getProperty("ems.server.maxThreads", "200"));
+            connector.setProperty("minSpareThreads", System.getProperty("ems.server.minSpareThreads", "10"));
+            log.info("Connector using platform threads (max={})", connector.getProperty("maxThreads"));
+        }
+    }
 }
\ No newline at end of file
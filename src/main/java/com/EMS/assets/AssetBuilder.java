@@ -0,0 +1,121 @@
+package com.EMS.assets;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+// Build step (process-classes): copies src/main/webapp into target/classes/webapp with content hashes in
+// the asset file names, index.html rewritten to point at them, .gz siblings where they are smaller and a
+// manifest that StaticAssets loads at startup. WEB-INF/web.xml is copied so the jar can run on its own.
+public class AssetBuilder {
+
+    static final String ROOT = "webapp";
+    static final String MANIFEST = "manifest.properties";
+    static final String INDEX = "index.html";
+    static final String IMMUTABLE = "immutable";
+    static final String REVALIDATE = "revalidate";
+
+    private static final int HASH_CHARS = 10;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: AssetBuilder <webapp dir> <output dir>");
+            System.exit(2);
+        }
+        Path source = Path.of(args[0]);
+        Path target = Path.of(args[1]);
+        int count = build(source, target);
+        System.out.println("Fingerprinted " + count + " static assets into " + target);
+    }
+
+    static int build(Path source, Path target) throws IOException {
+        // Drop files fingerprinted by earlier builds.
+        if (Files.exists(target)) {
+            try (Stream<Path> old = Files.walk(target)) {
+                for (Path file : old.sorted(Comparator.reverseOrder()).toList()) Files.delete(file);
+            }
+        }
+        List<Path> assets = new ArrayList<>();
+        try (Stream<Path> files = Files.walk(source)) {
+            files.filter(Files::isRegularFile)
+                    .filter(file -> !source.relativize(file).startsWith("WEB-INF"))
+                    .filter(file -> !source.relativize(file).toString().equals(INDEX))
+                    .sorted()
+                    .forEach(assets::add);
+        }
+
+        Map<String, String> renamed = new LinkedHashMap<>();
+        StringBuilder manifest = new StringBuilder("# Generated by AssetBuilder\n");
+        for (Path asset : assets) {
+            String path = source.relativize(asset).toString().replace('\\', '/');
+            byte[] body = Files.readAllBytes(asset);
+            String hashed = fingerprint(path, body);
+            renamed.put(path, hashed);
+            write(target, hashed, body);
+            manifest.append('/').append(hashed).append('=').append(IMMUTABLE).append('\n');
+        }
+
+        String index = Files.readString(source.resolve(INDEX), StandardCharsets.UTF_8);
+        for (Map.Entry<String, String> entry : renamed.entrySet()) {
+            index = index.replace("\"" + entry.getKey() + "\"", "\"" + entry.getValue() + "\"");
+        }
+        write(target, INDEX, index.getBytes(StandardCharsets.UTF_8));
+        manifest.append('/').append(INDEX).append('=').append(REVALIDATE).append('\n');
+
+        Path webXml = source.resolve("WEB-INF/web.xml");
+        if (Files.exists(webXml)) {
+            Files.createDirectories(target.resolve("WEB-INF"));
+            Files.copy(webXml, target.resolve("WEB-INF/web.xml"), StandardCopyOption.REPLACE_EXISTING);
+        }
+        Files.writeString(target.resolve(MANIFEST), manifest.toString(), StandardCharsets.UTF_8);
+        return renamed.size() + 1;
+    }
+
+    private static String fingerprint(String path, byte[] body) {
+        try {
+            String hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body))
+                    .substring(0, HASH_CHARS);
+            int slash = path.lastIndexOf('/');
+            int dot = path.lastIndexOf('.');
+            if (dot <= slash) return path + "." + hash;
+            return path.substring(0, dot) + "." + hash + path.substring(dot);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void write(Path target, String path, byte[] body) throws IOException {
+        Path file = target.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.write(file, body);
+        byte[] gzip = gzip(body);
+        if (gzip.length < body.length) Files.write(target.resolve(path + ".gz"), gzip);
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(body.length / 2 + 64);
+        try (OutputStream out = new GZIPOutputStream(bytes) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            out.write(body);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,67 @@
+package com.EMS.assets;
+
+import com.EMS.compression.Encoding;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+
+// Answers requests for fingerprinted assets from memory: hashed names are cached for a year as immutable,
+// index.html is revalidated by ETag. Everything else falls through to the default servlet.
+public class StaticAssetFilter implements Filter {
+
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+    private static final String REVALIDATE = "no-cache";
+
+    @Override
+    public void doFilter(ServletRequest req, ServletResponse res, FilterChain chain)
+            throws IOException, ServletException {
+        HttpServletRequest request = (HttpServletRequest) req;
+        HttpServletResponse response = (HttpServletResponse) res;
+        String method = request.getMethod();
+        StaticAssets.Asset asset = "GET".equals(method) || "HEAD".equals(method)
+                ? StaticAssets.getInstance().get(request.getRequestURI().substring(request.getContextPath().length()))
+                : null;
+        if (asset == null) {
+            chain.doFilter(req, res);
+            return;
+        }
+
+        boolean gzip = asset.gzip() != null
+                && Encoding.negotiate(request.getHeader("Accept-Encoding")) == Encoding.GZIP;
+        String etag = gzip ? asset.gzipEtag() : asset.etag();
+        response.setHeader("Cache-Control", asset.immutable() ? IMMUTABLE : REVALIDATE);
+        response.setHeader("ETag", etag);
+        if (asset.gzip() != null) response.setHeader("Vary", "Accept-Encoding");
+        if (matches(request.getHeader("If-None-Match"), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        byte[] body = asset.body();
+        if (gzip) {
+            body = asset.gzip();
+            response.setHeader("Content-Encoding", "gzip");
+        }
+        response.setContentType(asset.contentType());
+        response.setContentLength(body.length);
+        if (!"HEAD".equals(method)) response.getOutputStream().write(body);
+    }
+
+    // If-None-Match uses weak comparison: any listed tag equal to ours, with or without W/, or *.
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) return false;
+        for (String token : ifNoneMatch.split(",")) {
+            String tag = token.trim();
+            if (tag.equals("*")) return true;
+            if (tag.startsWith("W/")) tag = tag.substring(2);
+            if (tag.equals(etag)) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,105 @@
+package com.EMS.assets;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+// The fingerprinted SPA assets produced by AssetBuilder, read from the classpath once and served from memory.
+public class StaticAssets {
+
+    private static final Logger logger = LoggerFactory.getLogger(StaticAssets.class);
+
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            "html", "text/html;charset=UTF-8",
+            "js", "text/javascript;charset=UTF-8",
+            "css", "text/css;charset=UTF-8",
+            "svg", "image/svg+xml",
+            "png", "image/png",
+            "ico", "image/x-icon",
+            "json", "application/json");
+
+    private static final StaticAssets INSTANCE = new StaticAssets();
+
+    private final Map<String, Asset> assets = new HashMap<>();
+    private long bytes;
+
+    private StaticAssets() {
+        load();
+    }
+
+    public static StaticAssets getInstance() {
+        return INSTANCE;
+    }
+
+    public Asset get(String path) {
+        return assets.get(path);
+    }
+
+    public boolean isEmpty() {
+        return assets.isEmpty();
+    }
+
+    private void load() {
+        ClassLoader loader = StaticAssets.class.getClassLoader();
+        Properties manifest = new Properties();
+        try (InputStream in = loader.getResourceAsStream(AssetBuilder.ROOT + "/" + AssetBuilder.MANIFEST)) {
+            if (in == null) {
+                logger.info("No fingerprinted assets on the classpath; static files are served from the webapp dir");
+                return;
+            }
+            manifest.load(in);
+            for (String path : manifest.stringPropertyNames()) {
+                byte[] body = read(loader, path);
+                if (body == null) {
+                    logger.warn("Static asset {} is listed in the manifest but missing", path);
+                    continue;
+                }
+                byte[] gzip = read(loader, path + ".gz");
+                boolean immutable = AssetBuilder.IMMUTABLE.equals(manifest.getProperty(path));
+                String etag = etag(body);
+                assets.put(path, new Asset(body, gzip, contentType(path), etag,
+                        gzip != null ? etag.substring(0, etag.length() - 1) + "-gz\"" : null, immutable));
+                bytes += body.length + (gzip != null ? gzip.length : 0);
+            }
+            Asset index = assets.get("/" + AssetBuilder.INDEX);
+            if (index != null) assets.put("/", index);
+            logger.info("Loaded {} static assets ({} KB)", manifest.size(), bytes / 1024);
+        } catch (IOException e) {
+            logger.error("Could not load static assets", e);
+            throw new RuntimeException("Could not load static assets", e);
+        }
+    }
+
+    private static byte[] read(ClassLoader loader, String path) throws IOException {
+        try (InputStream in = loader.getResourceAsStream(AssetBuilder.ROOT + path)) {
+            return in != null ? in.readAllBytes() : null;
+        }
+    }
+
+    private static String contentType(String path) {
+        String extension = path.substring(path.lastIndexOf('.') + 1);
+        return CONTENT_TYPES.getOrDefault(extension, "application/octet-stream");
+    }
+
+    private static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // The gzip variant has its own ETag so caches never answer one encoding with the other's bytes.
+    public record Asset(byte[] body, byte[] gzip, String contentType, String etag, String gzipEtag,
+                        boolean immutable) {
+    }
+}
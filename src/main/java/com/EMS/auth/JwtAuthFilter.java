@@ -1,7 +1,7 @@
 package com.EMS.auth;
 
 import com.EMS.util.JwtUtil;
-import io.jsonwebtoken.Claims;
+import com.EMS.util.TokenCache;
 import io.jsonwebtoken.JwtException;
 import jakarta.annotation.Priority;
 import jakarta.ws.rs.Priorities;
@@ -28,9 +28,9 @@ public class JwtAuthFilter implements ContainerRequestFilter {
         }
         String token = authHeader.substring("Bearer ".length()).trim();
         try {
-            Claims claims = JwtUtil.validateToken(token);
-            String username = claims.getSubject();
-            String role = (String) claims.get("role");
+            TokenCache.AuthenticatedUser user = JwtUtil.authenticate(token);
+            String username = user.getUsername();
+            String role = user.getRole();
             containerRequestContext.setSecurityContext(new SecurityContext() {
                 public Principal getUserPrincipal() {
                     return () -> username;
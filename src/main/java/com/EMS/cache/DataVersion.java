@@ -0,0 +1,70 @@
+package com.EMS.cache;
+
+import com.EMS.dao.ChangeLogDAO;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Versions behind the collection ETags. They are built only from shared state, so every instance hands out
+// the same tag for the same data: the employee_changes head covers every write (including direct SQL that
+// appends to the change log) and the lookup fingerprints cover department and position renames, whose
+// names are embedded in employee JSON. The head is re-read at most every ems.etag.dbCheckMs, and right
+// after a local write.
+public class DataVersion {
+
+    private static final long CHECK_NANOS = TimeUnit.MILLISECONDS.toNanos(Long.getLong("ems.etag.dbCheckMs", 1000L));
+    private static final DataVersion INSTANCE = new DataVersion();
+
+    private final ChangeLogDAO changeLogDAO = new ChangeLogDAO();
+    private final AtomicLong writes = new AtomicLong();
+    private volatile String changeHead;
+    private volatile long changeHeadReadAt;
+    private volatile long changeHeadWrites;
+
+    private DataVersion() {
+    }
+
+    public static DataVersion getInstance() {
+        return INSTANCE;
+    }
+
+    public void employeesChanged() {
+        writes.incrementAndGet();
+    }
+
+    public void pastEmployeesChanged() {
+        writes.incrementAndGet();
+    }
+
+    public String employees() {
+        return "e-" + changeHead() + "-" + lookups();
+    }
+
+    public String pastEmployees() {
+        return "p-" + changeHead() + "-" + lookups();
+    }
+
+    private String changeHead() {
+        String head = changeHead;
+        if (fresh(head)) return head;
+        synchronized (this) {
+            if (fresh(changeHead)) return changeHead;
+            // Read the counter first so a write that commits during the query forces another read.
+            long seen = writes.get();
+            head = changeLogDAO.findVersion();
+            changeHeadReadAt = System.nanoTime();
+            changeHeadWrites = seen;
+            changeHead = head;
+            return head;
+        }
+    }
+
+    private boolean fresh(String head) {
+        return head != null && changeHeadWrites == writes.get() && System.nanoTime() - changeHeadReadAt < CHECK_NANOS;
+    }
+
+    private static String lookups() {
+        LookupCache.Snapshot lookups = LookupCache.getInstance().snapshot();
+        return Integer.toHexString(31 * lookups.getDepartmentsFingerprint() + lookups.getPositionsFingerprint());
+    }
+}
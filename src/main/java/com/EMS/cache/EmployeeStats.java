@@ -0,0 +1,265 @@
+package com.EMS.cache;
+
+import com.EMS.dao.EmployeeDAO;
+import com.EMS.dao.PastEmployeeDAO;
+import com.EMS.entity.Employee;
+import com.EMS.entity.PastEmployee;
+import com.EMS.util.UnitOfWork;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+
+public class EmployeeStats {
+
+    public static final int MAX_RECENT = 50;
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeStats.class);
+    private static final Comparator<Employee> MOST_RECENT = Comparator
+            .comparing(Employee::getHireDate)
+            .thenComparing(Employee::getEmployeeId)
+            .reversed();
+    private static final EmployeeStats INSTANCE = new EmployeeStats();
+
+    private final EmployeeDAO employeeDAO = new EmployeeDAO();
+    private final PastEmployeeDAO pastEmployeeDAO = new PastEmployeeDAO();
+    private final Object scanLock = new Object();
+
+    private State state = new State();
+    private boolean loaded;
+    // Deltas committed while a scan runs; null when no scan is in progress.
+    private List<Delta> pending;
+
+    private EmployeeStats() {
+    }
+
+    public static EmployeeStats getInstance() {
+        return INSTANCE;
+    }
+
+    public void rebuild() {
+        long start = System.nanoTime();
+        int active;
+        int archived;
+        synchronized (scanLock) {
+            State fresh = scan();
+            synchronized (this) {
+                state = fresh;
+                loaded = true;
+                active = fresh.active;
+                archived = fresh.archived;
+            }
+        }
+        logger.info("Employee stats rebuilt in {} ms: {} active, {} archived",
+                (System.nanoTime() - start) / 1_000_000, active, archived);
+    }
+
+    public boolean verify() {
+        synchronized (scanLock) {
+            State fresh = scan();
+            synchronized (this) {
+                boolean consistent = loaded && fresh.sameCounts(state);
+                if (!consistent) {
+                    if (loaded) logger.warn("Employee stats drifted from the database; replacing them");
+                    state = fresh;
+                    loaded = true;
+                }
+                return consistent;
+            }
+        }
+    }
+
+    public Snapshot snapshot(int recentLimit) {
+        synchronized (this) {
+            if (loaded) return snapshotOf(recentLimit);
+        }
+        rebuild();
+        synchronized (this) {
+            return snapshotOf(recentLimit);
+        }
+    }
+
+    private Snapshot snapshotOf(int recentLimit) {
+        if (state.recent.size() < Math.min(Math.min(recentLimit, MAX_RECENT), state.active)) {
+            state.recent.clear();
+            state.recent.addAll(employeeDAO.findRecentHires(MAX_RECENT));
+        }
+        List<Employee> top = new ArrayList<>(Math.min(recentLimit, state.recent.size()));
+        for (Employee employee : state.recent) {
+            if (top.size() == recentLimit) break;
+            top.add(employee);
+        }
+        return new Snapshot(state.active, state.activeByDepartment.size(), state.archived, top);
+    }
+
+    public synchronized void employeeAdded(Employee employee) {
+        apply(new Delta(employee.getEmployeeId(), null, departmentId(employee), employee, false));
+    }
+
+    public synchronized void employeeUpdated(Integer previousDepartmentId, Employee employee) {
+        apply(new Delta(employee.getEmployeeId(), previousDepartmentId, departmentId(employee), employee, false));
+    }
+
+    public synchronized void employeesArchived(Collection<PastEmployee> pastEmployees) {
+        for (PastEmployee pastEmployee : pastEmployees) {
+            apply(new Delta(pastEmployee.getOriginalEmployeeId(),
+                    pastEmployee.getDepartment() != null ? pastEmployee.getDepartment().getDepartmentId() : null,
+                    null, null, true));
+        }
+    }
+
+    private void apply(Delta delta) {
+        if (pending != null) pending.add(delta);
+        if (loaded) delta.applyTo(state, true);
+    }
+
+    // Same fence as PayrollAggregates: the counts, recent hires and archive count are read in one transaction
+    // without holding the monitor, and deltas committed meanwhile are replayed against the rows the scan saw.
+    // A delta whose previous state matches the scan is counted; one the scan already reflects only touches
+    // the recent hires, which is idempotent.
+    private State scan() {
+        synchronized (this) {
+            pending = new ArrayList<>();
+        }
+        State fresh = new State();
+        Map<Integer, Integer> seen = new HashMap<>();
+        try {
+            UnitOfWork.inTransaction(() -> {
+                employeeDAO.streamPayroll(employee -> {
+                    Integer departmentId = departmentId(employee);
+                    seen.put(employee.getEmployeeId(), departmentId);
+                    fresh.active++;
+                    fresh.activeByDepartment.merge(departmentId, 1, Integer::sum);
+                });
+                fresh.recent.addAll(employeeDAO.findRecentHires(MAX_RECENT));
+                fresh.archived = pastEmployeeDAO.count();
+            });
+        } finally {
+            synchronized (this) {
+                List<Delta> committed = pending;
+                pending = null;
+                for (Delta delta : committed) {
+                    boolean counted = delta.archived
+                            ? !seen.containsKey(delta.employeeId)
+                            : delta.previousDepartmentId == null
+                            ? seen.containsKey(delta.employeeId)
+                            : !Objects.equals(seen.get(delta.employeeId), delta.previousDepartmentId);
+                    delta.applyTo(fresh, !counted);
+                    if (delta.archived) seen.remove(delta.employeeId);
+                    else seen.put(delta.employeeId, delta.departmentId);
+                }
+            }
+        }
+        return fresh;
+    }
+
+    private static Integer departmentId(Employee employee) {
+        return employee.getDepartment() != null ? employee.getDepartment().getDepartmentId() : null;
+    }
+
+    // previousDepartmentId is null for a new hire; archived deltas carry the department the employee left.
+    private record Delta(Integer employeeId, Integer previousDepartmentId, Integer departmentId, Employee employee,
+                         boolean archived) {
+
+        void applyTo(State target, boolean count) {
+            if (archived) {
+                if (count) {
+                    target.active--;
+                    target.archived++;
+                    target.decrement(previousDepartmentId);
+                }
+                target.removeRecent(employeeId);
+            } else if (previousDepartmentId == null) {
+                if (count) {
+                    target.active++;
+                    target.activeByDepartment.merge(departmentId, 1, Integer::sum);
+                }
+                target.offerRecent(employee);
+            } else {
+                if (count && !departmentId.equals(previousDepartmentId)) {
+                    target.decrement(previousDepartmentId);
+                    target.activeByDepartment.merge(departmentId, 1, Integer::sum);
+                }
+                target.removeRecent(employeeId);
+                target.offerRecent(employee);
+            }
+        }
+    }
+
+    private static class State {
+
+        private final Map<Integer, Integer> activeByDepartment = new HashMap<>();
+        private final TreeSet<Employee> recent = new TreeSet<>(MOST_RECENT);
+        private int active;
+        private int archived;
+
+        // recent always holds the newest recent.size() active hires, so a new hire may only enter
+        // when it outranks the oldest entry or the set already covers every active employee.
+        void offerRecent(Employee employee) {
+            if (employee.getHireDate() == null) return;
+            boolean coversAll = recent.size() >= active - 1;
+            if (coversAll || (!recent.isEmpty() && MOST_RECENT.compare(employee, recent.last()) < 0)) {
+                recent.add(employee);
+                if (recent.size() > MAX_RECENT) recent.pollLast();
+            }
+        }
+
+        void removeRecent(Integer employeeId) {
+            Iterator<Employee> it = recent.iterator();
+            while (it.hasNext()) {
+                if (it.next().getEmployeeId().equals(employeeId)) {
+                    it.remove();
+                    return;
+                }
+            }
+        }
+
+        void decrement(Integer departmentId) {
+            activeByDepartment.computeIfPresent(departmentId, (id, count) -> count > 1 ? count - 1 : null);
+        }
+
+        boolean sameCounts(State other) {
+            return active == other.active && archived == other.archived
+                    && activeByDepartment.equals(other.activeByDepartment);
+        }
+    }
+
+    public static class Snapshot {
+
+        private final int activeEmployees;
+        private final int departments;
+        private final int archivedEmployees;
+        private final List<Employee> recentHires;
+
+        Snapshot(int activeEmployees, int departments, int archivedEmployees, List<Employee> recentHires) {
+            this.activeEmployees = activeEmployees;
+            this.departments = departments;
+            this.archivedEmployees = archivedEmployees;
+            this.recentHires = recentHires;
+        }
+
+        public int getActiveEmployees() {
+            return activeEmployees;
+        }
+
+        public int getDepartments() {
+            return departments;
+        }
+
+        public int getArchivedEmployees() {
+            return archivedEmployees;
+        }
+
+        public List<Employee> getRecentHires() {
+            return recentHires;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.EMS.cache;
+
+import com.EMS.dao.DepartmentDAO;
+import com.EMS.dao.PositionDAO;
+import com.EMS.entity.Department;
+import com.EMS.entity.Position;
+import com.EMS.search.EmployeeSearchIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class LookupCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(LookupCache.class);
+    private static final LookupCache INSTANCE = new LookupCache();
+    private static final long TTL_NANOS = TimeUnit.SECONDS.toNanos(Long.getLong("ems.lookups.ttlSeconds", 300));
+    private static final long MISS_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final DepartmentDAO departmentDAO = new DepartmentDAO();
+    private final PositionDAO positionDAO = new PositionDAO();
+    private final AtomicLong versions = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    private LookupCache() {
+    }
+
+    public static LookupCache getInstance() {
+        return INSTANCE;
+    }
+
+    public Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null || current.age() > TTL_NANOS) return refresh(current);
+        return current;
+    }
+
+    public List<Department> getDepartments() {
+        return snapshot().departments;
+    }
+
+    public List<Position> getPositions() {
+        return snapshot().positions;
+    }
+
+    public Optional<Department> findDepartment(int id) {
+        Snapshot current = snapshot();
+        Department department = current.departmentsById.get(id);
+        if (department == null && current.age() > MISS_REFRESH_NANOS) {
+            department = refresh(current).departmentsById.get(id);
+        }
+        return Optional.ofNullable(department);
+    }
+
+    public Optional<Position> findPosition(int id) {
+        Snapshot current = snapshot();
+        Position position = current.positionsById.get(id);
+        if (position == null && current.age() > MISS_REFRESH_NANOS) {
+            position = refresh(current).positionsById.get(id);
+        }
+        return Optional.ofNullable(position);
+    }
+
+    public long getVersion() {
+        return snapshot().version;
+    }
+
+    public void invalidate() {
+        snapshot = null;
+    }
+
+    private synchronized Snapshot refresh(Snapshot seen) {
+        Snapshot current = snapshot;
+        if (current != null && current != seen) return current;
+        List<Department> departments = departmentDAO.findAll();
+        List<Position> positions = positionDAO.findAll();
+        Snapshot fresh = new Snapshot(versions.incrementAndGet(), departments, positions);
+        snapshot = fresh;
+        EmployeeSearchIndex.getInstance().relabel(departments, positions);
+        logger.info("Lookup cache refreshed (version={}, departments={}, positions={})",
+                fresh.version, departments.size(), positions.size());
+        return fresh;
+    }
+
+    public static class Snapshot {
+
+        private final long version;
+        private final long loadedAt = System.nanoTime();
+        private final List<Department> departments;
+        private final List<Position> positions;
+        private final Map<Integer, Department> departmentsById = new HashMap<>();
+        private final Map<Integer, Position> positionsById = new HashMap<>();
+        private final int departmentsFingerprint;
+        private final int positionsFingerprint;
+
+        Snapshot(long version, List<Department> departments, List<Position> positions) {
+            this.version = version;
+            this.departments = List.copyOf(departments);
+            this.positions = List.copyOf(positions);
+            int dh = 1;
+            for (Department d : departments) {
+                departmentsById.put(d.getDepartmentId(), d);
+                dh = 31 * dh + Objects.hash(d.getDepartmentId(), d.getDepartmentName(), d.getDescription());
+            }
+            int ph = 1;
+            for (Position p : positions) {
+                positionsById.put(p.getPositionId(), p);
+                ph = 31 * ph + Objects.hash(p.getPositionId(), p.getTitle(), p.getPayGrade());
+            }
+            this.departmentsFingerprint = dh;
+            this.positionsFingerprint = ph;
+        }
+
+        long age() {
+            return System.nanoTime() - loadedAt;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public List<Department> getDepartments() {
+            return departments;
+        }
+
+        public int getDepartmentsFingerprint() {
+            return departmentsFingerprint;
+        }
+
+        public int getPositionsFingerprint() {
+            return positionsFingerprint;
+        }
+
+        public List<Position> getPositions() {
+            return positions;
+        }
+
+        public Department findDepartment(int id) {
+            return departmentsById.get(id);
+        }
+
+        public Position findPosition(int id) {
+            return positionsById.get(id);
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package com.EMS.cache;
+
+import com.EMS.dao.EmployeeDAO;
+import com.EMS.entity.Employee;
+import com.EMS.entity.PastEmployee;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+public class PayrollAggregates {
+
+    private static final Logger logger = LoggerFactory.getLogger(PayrollAggregates.class);
+    private static final PayrollAggregates INSTANCE = new PayrollAggregates();
+
+    private final EmployeeDAO employeeDAO = new EmployeeDAO();
+    private final Object scanLock = new Object();
+    private State state = new State();
+    private boolean loaded;
+    // Deltas committed while a scan runs; null when no scan is in progress.
+    private List<Delta> pending;
+
+    private PayrollAggregates() {
+    }
+
+    public static PayrollAggregates getInstance() {
+        return INSTANCE;
+    }
+
+    public void rebuild() {
+        long start = System.nanoTime();
+        int count;
+        synchronized (scanLock) {
+            State fresh = scan();
+            synchronized (this) {
+                state = fresh;
+                loaded = true;
+                count = fresh.total.count;
+            }
+        }
+        logger.info("Payroll aggregates rebuilt in {} ms: {} employees", (System.nanoTime() - start) / 1_000_000,
+                count);
+    }
+
+    public boolean verify() {
+        synchronized (scanLock) {
+            State fresh = scan();
+            synchronized (this) {
+                boolean consistent = loaded && fresh.sameAs(state);
+                if (!consistent) {
+                    if (loaded) logger.warn("Payroll aggregates drifted from the database; replacing them");
+                    state = fresh;
+                    loaded = true;
+                }
+                return consistent;
+            }
+        }
+    }
+
+    public Snapshot snapshot() {
+        synchronized (this) {
+            if (loaded) return snapshotOf(state);
+        }
+        rebuild();
+        synchronized (this) {
+            return snapshotOf(state);
+        }
+    }
+
+    private static Snapshot snapshotOf(State state) {
+        Map<Integer, Stats> departments = new HashMap<>();
+        state.byDepartment.forEach((id, group) -> departments.put(id, group.stats()));
+        Map<Integer, Stats> positions = new HashMap<>();
+        state.byPosition.forEach((id, group) -> positions.put(id, group.stats()));
+        return new Snapshot(state.total.stats(), departments, positions);
+    }
+
+    public synchronized void employeeAdded(Employee employee) {
+        apply(new Delta(employee.getEmployeeId(), null, Row.of(employee)));
+    }
+
+    public synchronized void employeeUpdated(Integer previousDepartmentId, Integer previousPositionId,
+                                             BigDecimal previousSalary, Employee employee) {
+        apply(new Delta(employee.getEmployeeId(), new Row(previousDepartmentId, previousPositionId, previousSalary),
+                Row.of(employee)));
+    }
+
+    public synchronized void employeesArchived(Collection<PastEmployee> pastEmployees) {
+        for (PastEmployee pastEmployee : pastEmployees) {
+            Row row = new Row(pastEmployee.getDepartment() != null ? pastEmployee.getDepartment().getDepartmentId() : null,
+                    pastEmployee.getPosition() != null ? pastEmployee.getPosition().getPositionId() : null,
+                    pastEmployee.getSalary());
+            apply(new Delta(pastEmployee.getOriginalEmployeeId(), row, null));
+        }
+    }
+
+    private void apply(Delta delta) {
+        if (pending != null) pending.add(delta);
+        if (!loaded) return;
+        if (!delta.applyTo(state)) {
+            // A delta removed a salary the aggregates never had: rebuild from the database on next use.
+            logger.warn("Payroll aggregates are missing employee {}; they will be rebuilt", delta.employeeId);
+            loaded = false;
+        }
+    }
+
+    // The scan runs without holding the monitor so writers are not blocked on it. Deltas committed meanwhile
+    // are recorded and replayed in commit order against the rows the scan saw: a delta whose previous values
+    // match what the scan read is applied, one the scan already reflects is skipped.
+    private State scan() {
+        synchronized (this) {
+            pending = new ArrayList<>();
+        }
+        State fresh = new State();
+        Map<Integer, Row> seen = new HashMap<>();
+        try {
+            employeeDAO.streamPayroll(employee -> {
+                Row row = Row.of(employee);
+                fresh.add(row);
+                seen.put(employee.getEmployeeId(), row);
+            });
+        } finally {
+            synchronized (this) {
+                List<Delta> committed = pending;
+                pending = null;
+                for (Delta delta : committed) {
+                    if (Row.same(seen.get(delta.employeeId), delta.before)) delta.applyTo(fresh);
+                    if (delta.after != null) seen.put(delta.employeeId, delta.after);
+                    else seen.remove(delta.employeeId);
+                }
+            }
+        }
+        return fresh;
+    }
+
+    private record Row(Integer departmentId, Integer positionId, BigDecimal salary) {
+
+        static Row of(Employee employee) {
+            return new Row(employee.getDepartment() != null ? employee.getDepartment().getDepartmentId() : null,
+                    employee.getPosition() != null ? employee.getPosition().getPositionId() : null,
+                    employee.getSalary());
+        }
+
+        static boolean same(Row a, Row b) {
+            if (a == null || b == null) return a == b;
+            return Objects.equals(a.departmentId, b.departmentId) && Objects.equals(a.positionId, b.positionId)
+                    && value(a.salary).compareTo(value(b.salary)) == 0;
+        }
+    }
+
+    private record Delta(Integer employeeId, Row before, Row after) {
+
+        boolean applyTo(State target) {
+            boolean found = before == null || target.remove(before.departmentId, before.positionId, before.salary);
+            if (after != null) target.add(after);
+            return found;
+        }
+    }
+
+    private static BigDecimal value(BigDecimal salary) {
+        return salary != null ? salary : BigDecimal.ZERO;
+    }
+
+    private static class State {
+
+        private final Group total = new Group();
+        private final Map<Integer, Group> byDepartment = new HashMap<>();
+        private final Map<Integer, Group> byPosition = new HashMap<>();
+
+        void add(Row row) {
+            add(row.departmentId, row.positionId, row.salary);
+        }
+
+        void add(Integer departmentId, Integer positionId, BigDecimal salary) {
+            total.add(salary);
+            byDepartment.computeIfAbsent(departmentId, id -> new Group()).add(salary);
+            byPosition.computeIfAbsent(positionId, id -> new Group()).add(salary);
+        }
+
+        boolean remove(Integer departmentId, Integer positionId, BigDecimal salary) {
+            boolean found = total.remove(salary);
+            found &= remove(byDepartment, departmentId, salary);
+            found &= remove(byPosition, positionId, salary);
+            return found;
+        }
+
+        private static boolean remove(Map<Integer, Group> groups, Integer id, BigDecimal salary) {
+            Group group = groups.get(id);
+            if (group == null) return false;
+            boolean found = group.remove(salary);
+            if (group.count == 0) groups.remove(id);
+            return found;
+        }
+
+        boolean sameAs(State other) {
+            return total.sameAs(other.total) && sameGroups(byDepartment, other.byDepartment)
+                    && sameGroups(byPosition, other.byPosition);
+        }
+
+        private static boolean sameGroups(Map<Integer, Group> a, Map<Integer, Group> b) {
+            if (!a.keySet().equals(b.keySet())) return false;
+            for (Map.Entry<Integer, Group> entry : a.entrySet()) {
+                if (!entry.getValue().sameAs(b.get(entry.getKey()))) return false;
+            }
+            return true;
+        }
+    }
+
+    // Salaries are kept as a sorted multiset so min/max survive removals without rescanning the group.
+    private static class Group {
+
+        private int count;
+        private BigDecimal sum = BigDecimal.ZERO;
+        private final TreeMap<BigDecimal, Integer> salaries = new TreeMap<>();
+
+        void add(BigDecimal salary) {
+            BigDecimal value = value(salary);
+            count++;
+            sum = sum.add(value);
+            salaries.merge(value, 1, Integer::sum);
+        }
+
+        boolean remove(BigDecimal salary) {
+            BigDecimal value = value(salary);
+            Integer n = salaries.get(value);
+            if (n == null) return false;
+            if (n == 1) salaries.remove(value);
+            else salaries.put(value, n - 1);
+            count--;
+            sum = sum.subtract(value);
+            return true;
+        }
+
+        boolean sameAs(Group other) {
+            return other != null && count == other.count && sum.compareTo(other.sum) == 0
+                    && Objects.equals(min(), other.min()) && Objects.equals(max(), other.max());
+        }
+
+        private BigDecimal min() {
+            return salaries.isEmpty() ? null : salaries.firstKey();
+        }
+
+        private BigDecimal max() {
+            return salaries.isEmpty() ? null : salaries.lastKey();
+        }
+
+        Stats stats() {
+            BigDecimal mean = count == 0 ? null : sum.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP);
+            return new Stats(count, sum, mean, min(), max());
+        }
+    }
+
+    public static class Stats {
+
+        private final int headcount;
+        private final BigDecimal totalSalary;
+        private final BigDecimal meanSalary;
+        private final BigDecimal minSalary;
+        private final BigDecimal maxSalary;
+
+        Stats(int headcount, BigDecimal totalSalary, BigDecimal meanSalary, BigDecimal minSalary,
+              BigDecimal maxSalary) {
+            this.headcount = headcount;
+            this.totalSalary = totalSalary;
+            this.meanSalary = meanSalary;
+            this.minSalary = minSalary;
+            this.maxSalary = maxSalary;
+        }
+
+        public int getHeadcount() {
+            return headcount;
+        }
+
+        public BigDecimal getTotalSalary() {
+            return totalSalary;
+        }
+
+        public BigDecimal getMeanSalary() {
+            return meanSalary;
+        }
+
+        public BigDecimal getMinSalary() {
+            return minSalary;
+        }
+
+        public BigDecimal getMaxSalary() {
+            return maxSalary;
+        }
+    }
+
+    public static class Snapshot {
+
+        private final Stats total;
+        private final Map<Integer, Stats> departments;
+        private final Map<Integer, Stats> positions;
+
+        Snapshot(Stats total, Map<Integer, Stats> departments, Map<Integer, Stats> positions) {
+            this.total = total;
+            this.departments = departments;
+            this.positions = positions;
+        }
+
+        public Stats getTotal() {
+            return total;
+        }
+
+        public Map<Integer, Stats> getDepartments() {
+            return departments;
+        }
+
+        public Map<Integer, Stats> getPositions() {
+            return positions;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.EMS.compression;
+
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MultivaluedMap;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+// Holds back the first minBytes of the entity. A response that ends within them is sent as is;
+// otherwise the headers are switched to the negotiated encoding before anything reaches the
+// container and the rest is compressed as it is written, so chunked streaming keeps working.
+class CompressingOutputStream extends OutputStream {
+
+    private final OutputStream out;
+    private final Encoding encoding;
+    private final MultivaluedMap<String, Object> headers;
+    private final byte[] pending;
+    private int pendingLength;
+    private Compressor compressor;
+    private long bytesIn;
+    private boolean finished;
+
+    CompressingOutputStream(OutputStream out, Encoding encoding, MultivaluedMap<String, Object> headers, int minBytes) {
+        this.out = out;
+        this.encoding = encoding;
+        this.headers = headers;
+        this.pending = new byte[minBytes];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (finished) throw new IOException("Stream already finished");
+        if (compressor == null) {
+            if (pendingLength + len <= pending.length) {
+                System.arraycopy(b, off, pending, pendingLength, len);
+                pendingLength += len;
+                return;
+            }
+            startCompressing();
+        }
+        compress(b, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (compressor != null) compressor.flush(out);
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        finish();
+        out.close();
+    }
+
+    void finish() throws IOException {
+        if (finished) return;
+        finished = true;
+        if (compressor == null) {
+            CompressionStats.getInstance().skippedSmall();
+            if (pendingLength > 0) out.write(pending, 0, pendingLength);
+            return;
+        }
+        try {
+            compressor.finish(out);
+            encoding.record(bytesIn, compressor.getWritten(), compressor.getNanos());
+        } finally {
+            encoding.getPool().release(compressor);
+            compressor = null;
+        }
+    }
+
+    // Returns the compressor after a failed write; the response is broken anyway.
+    void abort() {
+        finished = true;
+        if (compressor != null) {
+            encoding.getPool().release(compressor);
+            compressor = null;
+        }
+    }
+
+    private void startCompressing() throws IOException {
+        headers.putSingle(HttpHeaders.CONTENT_ENCODING, encoding.getToken());
+        headers.remove(HttpHeaders.CONTENT_LENGTH);
+        weakenETag(headers);
+        compressor = encoding.getPool().borrow();
+        compressor.start(out);
+        if (pendingLength > 0) compress(pending, 0, pendingLength);
+        pendingLength = 0;
+    }
+
+    // The compressed bytes are a different representation, so a strong validator must not be reused.
+    static void weakenETag(MultivaluedMap<String, Object> headers) {
+        Object etag = headers.getFirst(HttpHeaders.ETAG);
+        if (etag instanceof EntityTag tag && !tag.isWeak()) {
+            headers.putSingle(HttpHeaders.ETAG, new EntityTag(tag.getValue(), true));
+        }
+    }
+
+    private void compress(byte[] b, int off, int len) throws IOException {
+        compressor.write(out, b, off, len);
+        bytesIn += len;
+    }
+}
@@ -0,0 +1,92 @@
+package com.EMS.compression;
+
+import jakarta.annotation.Priority;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+import jakarta.ws.rs.ext.WriterInterceptor;
+import jakarta.ws.rs.ext.WriterInterceptorContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+// Negotiates gzip/deflate from Accept-Encoding in the response filter, then compresses the entity
+// as it is written. Responses that finish below ems.compression.minBytes go out uncompressed.
+@Provider
+@Priority(Priorities.ENTITY_CODER)
+public class CompressionFilter implements ContainerResponseFilter, WriterInterceptor {
+
+    private static final String ENCODING = CompressionFilter.class.getName() + ".encoding";
+
+    private final boolean enabled = Boolean.parseBoolean(System.getProperty("ems.compression.enabled", "true"));
+    private final int minBytes = Integer.getInteger("ems.compression.minBytes", 1024);
+
+    @Override
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+        if (!enabled) return;
+        int status = response.getStatus();
+        if (status == Response.Status.NOT_MODIFIED.getStatusCode()) {
+            vary(response);
+            // Repeat the validator the compressed 200 would have carried.
+            if (Encoding.negotiate(request.getHeaderString(HttpHeaders.ACCEPT_ENCODING)) != null) {
+                CompressingOutputStream.weakenETag(response.getHeaders());
+            }
+            return;
+        }
+        if (!compressible(response.getMediaType()) || !response.hasEntity()
+                || status == Response.Status.NO_CONTENT.getStatusCode() || request.getMethod().equals(HttpMethod.HEAD)
+                || response.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)) return;
+        vary(response);
+        Encoding encoding = Encoding.negotiate(request.getHeaderString(HttpHeaders.ACCEPT_ENCODING));
+        if (encoding == null) {
+            CompressionStats.getInstance().skippedNotAccepted();
+            return;
+        }
+        request.setProperty(ENCODING, encoding);
+    }
+
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext context) throws IOException {
+        if (!(context.getProperty(ENCODING) instanceof Encoding encoding)) {
+            context.proceed();
+            return;
+        }
+        OutputStream original = context.getOutputStream();
+        CompressingOutputStream compressing =
+                new CompressingOutputStream(original, encoding, context.getHeaders(), minBytes);
+        context.setOutputStream(compressing);
+        try {
+            context.proceed();
+            compressing.finish();
+        } catch (IOException | RuntimeException e) {
+            compressing.abort();
+            throw e;
+        } finally {
+            context.setOutputStream(original);
+        }
+    }
+
+    private static void vary(ContainerResponseContext response) {
+        List<Object> vary = response.getHeaders().get(HttpHeaders.VARY);
+        if (vary != null) {
+            for (Object value : vary) {
+                if (value.toString().toLowerCase().contains("accept-encoding")) return;
+            }
+        }
+        response.getHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    private static boolean compressible(MediaType type) {
+        if (type == null) return false;
+        String subtype = type.getSubtype();
+        return type.getType().equals("text") || subtype.equals("json") || subtype.endsWith("+json")
+                || subtype.equals("xml") || subtype.endsWith("+xml") || subtype.equals("javascript");
+    }
+}
@@ -0,0 +1,34 @@
+package com.EMS.compression;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class CompressionStats {
+
+    private static final CompressionStats INSTANCE = new CompressionStats();
+
+    private final LongAdder skippedSmall = new LongAdder();
+    private final LongAdder skippedNotAccepted = new LongAdder();
+
+    private CompressionStats() {
+    }
+
+    public static CompressionStats getInstance() {
+        return INSTANCE;
+    }
+
+    void skippedSmall() {
+        skippedSmall.increment();
+    }
+
+    void skippedNotAccepted() {
+        skippedNotAccepted.increment();
+    }
+
+    public long getSkippedSmall() {
+        return skippedSmall.sum();
+    }
+
+    public long getSkippedNotAccepted() {
+        return skippedNotAccepted.sum();
+    }
+}
@@ -0,0 +1,96 @@
+package com.EMS.compression;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+// A Deflater with its output buffer, pooled as a unit so a compressed response allocates nothing.
+class Compressor {
+
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private final Deflater deflater;
+    private final boolean gzip;
+    private final CRC32 crc = new CRC32();
+    private final byte[] buffer = new byte[16 * 1024];
+    private long written;
+    private long nanos;
+
+    Compressor(Deflater deflater, boolean gzip) {
+        this.deflater = deflater;
+        this.gzip = gzip;
+    }
+
+    void start(OutputStream out) throws IOException {
+        if (gzip) {
+            out.write(GZIP_HEADER);
+            written += GZIP_HEADER.length;
+        }
+    }
+
+    void write(OutputStream out, byte[] b, int off, int len) throws IOException {
+        if (gzip) {
+            long start = System.nanoTime();
+            crc.update(b, off, len);
+            nanos += System.nanoTime() - start;
+        }
+        deflater.setInput(b, off, len);
+        while (!deflater.needsInput()) drain(out, Deflater.NO_FLUSH);
+    }
+
+    void flush(OutputStream out) throws IOException {
+        int n;
+        do {
+            n = drain(out, Deflater.SYNC_FLUSH);
+        } while (n == buffer.length);
+    }
+
+    void finish(OutputStream out) throws IOException {
+        deflater.finish();
+        while (!deflater.finished()) drain(out, Deflater.NO_FLUSH);
+        if (gzip) {
+            writeIntLE(out, (int) crc.getValue());
+            writeIntLE(out, (int) deflater.getBytesRead());
+            written += 8;
+        }
+    }
+
+    long getWritten() {
+        return written;
+    }
+
+    // Time spent inside zlib and the checksum only, not blocked writing to the client.
+    long getNanos() {
+        return nanos;
+    }
+
+    void reset() {
+        deflater.reset();
+        crc.reset();
+        written = 0;
+        nanos = 0;
+    }
+
+    void end() {
+        deflater.end();
+    }
+
+    private int drain(OutputStream out, int flush) throws IOException {
+        long start = System.nanoTime();
+        int n = deflater.deflate(buffer, 0, buffer.length, flush);
+        nanos += System.nanoTime() - start;
+        if (n > 0) {
+            out.write(buffer, 0, n);
+            written += n;
+        }
+        return n;
+    }
+
+    private static void writeIntLE(OutputStream out, int value) throws IOException {
+        out.write(value & 0xff);
+        out.write((value >>> 8) & 0xff);
+        out.write((value >>> 16) & 0xff);
+        out.write((value >>> 24) & 0xff);
+    }
+}
@@ -0,0 +1,46 @@
+package com.EMS.compression;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Bounded free list: borrowing never blocks. When it is empty a new compressor is created, and one
+// returned to a full pool is ended so native zlib memory stays bounded.
+class CompressorPool {
+
+    private final BlockingQueue<Compressor> idle;
+    private final Supplier<Compressor> factory;
+    private final int capacity;
+    private final LongAdder created = new LongAdder();
+
+    CompressorPool(int capacity, Supplier<Compressor> factory) {
+        this.capacity = capacity;
+        this.idle = new ArrayBlockingQueue<>(capacity);
+        this.factory = factory;
+    }
+
+    Compressor borrow() {
+        Compressor compressor = idle.poll();
+        if (compressor != null) return compressor;
+        created.increment();
+        return factory.get();
+    }
+
+    void release(Compressor compressor) {
+        compressor.reset();
+        if (!idle.offer(compressor)) compressor.end();
+    }
+
+    int getIdle() {
+        return idle.size();
+    }
+
+    int getCapacity() {
+        return capacity;
+    }
+
+    long getCreated() {
+        return created.sum();
+    }
+}
@@ -0,0 +1,108 @@
+package com.EMS.compression;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.Deflater;
+
+public enum Encoding {
+
+    GZIP("gzip", true),
+    DEFLATE("deflate", false);
+
+    private final String token;
+    private final CompressorPool pool;
+    private final LongAdder responses = new LongAdder();
+    private final LongAdder bytesIn = new LongAdder();
+    private final LongAdder bytesOut = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+
+    // gzip carries a raw deflate stream between its own header and trailer; "deflate" is the zlib format.
+    Encoding(String token, boolean nowrap) {
+        this.token = token;
+        this.pool = new CompressorPool(Settings.POOL_SIZE,
+                () -> new Compressor(new Deflater(Settings.LEVEL, nowrap), nowrap));
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    CompressorPool getPool() {
+        return pool;
+    }
+
+    void record(long in, long out, long elapsedNanos) {
+        responses.increment();
+        bytesIn.add(in);
+        bytesOut.add(out);
+        nanos.add(elapsedNanos);
+    }
+
+    public long getResponses() {
+        return responses.sum();
+    }
+
+    public long getBytesIn() {
+        return bytesIn.sum();
+    }
+
+    public long getBytesOut() {
+        return bytesOut.sum();
+    }
+
+    public long getNanos() {
+        return nanos.sum();
+    }
+
+    public int getPoolIdle() {
+        return pool.getIdle();
+    }
+
+    public int getPoolSize() {
+        return pool.getCapacity();
+    }
+
+    public long getPoolCreated() {
+        return pool.getCreated();
+    }
+
+    public static Encoding negotiate(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) return null;
+        double gzip = -1;
+        double deflate = -1;
+        double any = -1;
+        for (String part : acceptEncoding.split(",")) {
+            String[] params = part.split(";");
+            String coding = params[0].trim().toLowerCase();
+            double q = 1;
+            for (int i = 1; i < params.length; i++) {
+                String param = params[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        q = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        q = 0;
+                    }
+                }
+            }
+            switch (coding) {
+                case "gzip", "x-gzip" -> gzip = Math.max(gzip, q);
+                case "deflate" -> deflate = Math.max(deflate, q);
+                case "*" -> any = Math.max(any, q);
+                default -> {
+                }
+            }
+        }
+        if (gzip < 0) gzip = any;
+        if (deflate < 0) deflate = any;
+        if (gzip <= 0 && deflate <= 0) return null;
+        return gzip >= deflate ? GZIP : DEFLATE;
+    }
+
+    // Enum constants are constructed before the enum's own static fields, so settings live here.
+    private static class Settings {
+
+        static final int LEVEL = Integer.getInteger("ems.compression.level", Deflater.DEFAULT_COMPRESSION);
+        static final int POOL_SIZE = Integer.getInteger("ems.compression.poolSize",
+                Math.max(4, Runtime.getRuntime().availableProcessors() * 2));
+    }
+}
@@ -0,0 +1,253 @@
+package com.EMS.dao;
+
+import com.EMS.entity.Employee;
+import com.EMS.util.UnitOfWork;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ChangeLogDAO {
+
+    public static final String UPSERT = "UPSERT";
+    public static final String ARCHIVED = "ARCHIVED";
+    public static final String DELETED = "DELETED";
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeLogDAO.class);
+    // changed_at is stamped at insert, not at commit, so a transaction that writes change rows must commit
+    // well inside the settle window or its rows could land behind a token that already moved past them.
+    public static final long MAX_TRANSACTION_MS = Long.getLong("ems.changes.maxTransactionMs", 30000L);
+
+    private static final int RECENT_WINDOW = 1000;
+    private static final int PRUNE_BATCH = 10000;
+
+    static void record(Connection connection, String type, Collection<Integer> employeeIds) throws SQLException {
+        if (employeeIds.isEmpty()) return;
+        UnitOfWork.commitWithin(MAX_TRANSACTION_MS);
+        String sql = "INSERT INTO employee_changes (employee_id, change_type) VALUES (?, ?)";
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            for (Integer id : employeeIds) {
+                ps.setInt(1, id);
+                ps.setString(2, type);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    // The newest change id plus the number of rows among the last RECENT_WINDOW ids. The count also
+    // moves when a transaction that took a lower id commits after a higher one was already visible.
+    public String findVersion() {
+        try {
+            return UnitOfWork.doReturningWork(connection -> {
+                long head;
+                try (PreparedStatement ps = connection.prepareStatement("SELECT MAX(change_id) FROM employee_changes");
+                     ResultSet rs = ps.executeQuery()) {
+                    head = rs.next() ? rs.getLong(1) : 0L;
+                }
+                String sql = "SELECT COUNT(*) FROM employee_changes WHERE change_id > ?";
+                try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                    ps.setLong(1, head - RECENT_WINDOW);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        long recent = rs.next() ? rs.getLong(1) : 0L;
+                        return Long.toString(head, 36) + "." + Long.toString(recent, 36);
+                    }
+                }
+            });
+        } catch (Exception e) {
+            logger.error("Error reading change log version", e);
+            throw new RuntimeException("Failed to read change log", e);
+        }
+    }
+
+    public long findHead(long since, int settleSeconds) {
+        try {
+            return UnitOfWork.doReturningWork(connection -> {
+                String sql = "SELECT MAX(change_id) FROM employee_changes " +
+                        "WHERE change_id > ? AND changed_at <= TIMESTAMPADD(SECOND, ?, CURRENT_TIMESTAMP(3))";
+                try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                    ps.setLong(1, since);
+                    ps.setInt(2, -settleSeconds);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        long head = rs.next() ? rs.getLong(1) : 0L;
+                        return Math.max(head, since);
+                    }
+                }
+            });
+        } catch (Exception e) {
+            logger.error("Error reading change log head", e);
+            throw new RuntimeException("Failed to read change log", e);
+        }
+    }
+
+    // Ids at or below the floor may have been pruned; tokens older than it cannot be served.
+    public long findFloor() {
+        try {
+            return UnitOfWork.doReturningWork(connection -> {
+                try (PreparedStatement ps = connection.prepareStatement("SELECT MIN(change_id) FROM employee_changes");
+                     ResultSet rs = ps.executeQuery()) {
+                    return rs.next() ? Math.max(0L, rs.getLong(1) - 1) : 0L;
+                }
+            });
+        } catch (Exception e) {
+            logger.error("Error reading change log floor", e);
+            throw new RuntimeException("Failed to read change log", e);
+        }
+    }
+
+    // Deletes changes older than retentionDays in id batches. The newest row is always kept so the floor
+    // stays readable from MIN(change_id).
+    public int prune(int retentionDays) {
+        try {
+            long[] range = UnitOfWork.doReturningWork(connection -> {
+                String sql = "SELECT MIN(change_id), MAX(change_id) FROM employee_changes " +
+                        "WHERE changed_at < TIMESTAMPADD(DAY, ?, CURRENT_TIMESTAMP(3)) " +
+                        "AND change_id < (SELECT MAX(change_id) FROM employee_changes)";
+                try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                    ps.setInt(1, -retentionDays);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        if (!rs.next() || rs.getObject(1) == null) return null;
+                        return new long[]{rs.getLong(1) - 1, rs.getLong(2)};
+                    }
+                }
+            });
+            if (range == null) return 0;
+            int deleted = 0;
+            for (long from = range[0]; from < range[1]; from += PRUNE_BATCH) {
+                long lower = from;
+                long upper = Math.min(from + PRUNE_BATCH, range[1]);
+                deleted += UnitOfWork.inTransaction(() -> UnitOfWork.doReturningWork(connection -> {
+                    try (PreparedStatement ps = connection.prepareStatement(
+                            "DELETE FROM employee_changes WHERE change_id > ? AND change_id <= ?")) {
+                        ps.setLong(1, lower);
+                        ps.setLong(2, upper);
+                        return ps.executeUpdate();
+                    }
+                }));
+            }
+            return deleted;
+        } catch (Exception e) {
+            logger.error("Error pruning change log", e);
+            throw new RuntimeException("Failed to prune change log", e);
+        }
+    }
+
+    public ChangeSet findSince(long since, long head, int limit) {
+        try {
+            return UnitOfWork.doReturningWork(connection -> {
+                Map<Integer, Entry> latest = new LinkedHashMap<>();
+                String sql = "SELECT employee_id, MAX(change_id) AS last_change, MAX(changed_at) AS changed_at " +
+                        "FROM employee_changes WHERE change_id > ? AND change_id <= ? " +
+                        "GROUP BY employee_id ORDER BY last_change LIMIT ?";
+                try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                    ps.setLong(1, since);
+                    ps.setLong(2, head);
+                    ps.setInt(3, limit + 1);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            Timestamp changedAt = rs.getTimestamp("changed_at");
+                            latest.put(rs.getInt("employee_id"), new Entry(rs.getLong("last_change"),
+                                    changedAt != null ? changedAt.toLocalDateTime() : null));
+                        }
+                    }
+                }
+                boolean hasMore = latest.size() > limit;
+                if (hasMore) latest.remove(new ArrayList<>(latest.keySet()).get(limit));
+
+                Map<Integer, Employee> live = new HashMap<>();
+                if (!latest.isEmpty()) {
+                    String in = "(" + String.join(", ", Collections.nCopies(latest.size(), "?")) + ")";
+                    try (PreparedStatement ps = connection.prepareStatement(
+                            EmployeeDAO.BASE_SELECT + "WHERE e.status = 'ACTIVE' AND e.employee_id IN " + in)) {
+                        int i = 1;
+                        for (Integer id : latest.keySet()) ps.setInt(i++, id);
+                        try (ResultSet rs = ps.executeQuery()) {
+                            while (rs.next()) {
+                                Employee employee = EmployeeDAO.mapRow(rs);
+                                live.put(employee.getEmployeeId(), employee);
+                            }
+                        }
+                    } catch (SQLException e) {
+                        throw e;
+                    } catch (Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+
+                List<Employee> upserts = new ArrayList<>();
+                List<Map<String, Object>> tombstones = new ArrayList<>();
+                long last = since;
+                for (Map.Entry<Integer, Entry> entry : latest.entrySet()) {
+                    last = Math.max(last, entry.getValue().changeId);
+                    Employee employee = live.get(entry.getKey());
+                    if (employee != null) {
+                        upserts.add(employee);
+                    } else {
+                        Map<String, Object> tombstone = new LinkedHashMap<>();
+                        tombstone.put("employeeId", entry.getKey());
+                        tombstone.put("removedAt", entry.getValue().changedAt);
+                        tombstones.add(tombstone);
+                    }
+                }
+                return new ChangeSet(upserts, tombstones, last, hasMore);
+            });
+        } catch (Exception e) {
+            logger.error("Error reading changes since {}", since, e);
+            throw new RuntimeException("Failed to read changes", e);
+        }
+    }
+
+    private static class Entry {
+
+        private final long changeId;
+        private final LocalDateTime changedAt;
+
+        Entry(long changeId, LocalDateTime changedAt) {
+            this.changeId = changeId;
+            this.changedAt = changedAt;
+        }
+    }
+
+    public static class ChangeSet {
+
+        private final List<Employee> upserts;
+        private final List<Map<String, Object>> tombstones;
+        private final long lastChangeId;
+        private final boolean hasMore;
+
+        ChangeSet(List<Employee> upserts, List<Map<String, Object>> tombstones, long lastChangeId, boolean hasMore) {
+            this.upserts = upserts;
+            this.tombstones = tombstones;
+            this.lastChangeId = lastChangeId;
+            this.hasMore = hasMore;
+        }
+
+        public List<Employee> getUpserts() {
+            return upserts;
+        }
+
+        public List<Map<String, Object>> getTombstones() {
+            return tombstones;
+        }
+
+        public long getLastChangeId() {
+            return lastChangeId;
+        }
+
+        public boolean isHasMore() {
+            return hasMore;
+        }
+    }
+}
@@ -1,8 +1,7 @@
 package com.EMS.dao;
 
 import com.EMS.entity.Department;
-import com.EMS.util.HibernateUtil;
-import org.hibernate.Session;
+import com.EMS.util.UnitOfWork;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -17,8 +16,8 @@ public class DepartmentDAO {
     private static final Logger logger = LoggerFactory.getLogger(DepartmentDAO.class);
 
     public List<Department> findAll() {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            return session.doReturningWork(connection -> {
+        try {
+            return UnitOfWork.doReturningWork(connection -> {
                 List<Department> list = new ArrayList<>();
                 String sql = "SELECT department_id, department_name, description FROM departments ORDER BY department_name";
                 try (PreparedStatement ps = connection.prepareStatement(sql);
@@ -40,8 +39,8 @@ public class DepartmentDAO {
     }
 
     public Optional<Department> findById(int id) {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            return session.doReturningWork(connection -> {
+        try {
+            return UnitOfWork.doReturningWork(connection -> {
                 String sql = "SELECT department_id, department_name, description FROM departments WHERE department_id = ?";
                 try (PreparedStatement ps = connection.prepareStatement(sql)) {
                     ps.setInt(1, id);
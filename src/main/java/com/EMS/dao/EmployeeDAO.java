@@ -3,25 +3,38 @@ package com.EMS.dao;
 import com.EMS.entity.Department;
 import com.EMS.entity.Employee;
 import com.EMS.entity.Position;
-import com.EMS.util.HibernateUtil;
-import org.hibernate.Session;
+import com.EMS.search.EmployeeSearchIndex;
+import com.EMS.util.Page;
+import com.EMS.util.PageCursor;
+import com.EMS.util.UnitOfWork;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.Statement;
+import java.sql.Timestamp;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public class EmployeeDAO {
 
     private static final Logger logger = LoggerFactory.getLogger(EmployeeDAO.class);
+    // Connector/J only streams rows one at a time for forward-only, read-only statements with this fetch size.
+    static final int STREAM_FETCH_SIZE = Integer.getInteger("ems.db.streamFetchSize", Integer.MIN_VALUE);
+    private final EmployeeSearchIndex searchIndex = EmployeeSearchIndex.getInstance();
 
-    private Employee mapRow(ResultSet resultSet) throws Exception {
+    static Employee mapRow(ResultSet resultSet) throws Exception {
         Employee employee = new Employee();
         employee.setEmployeeId(resultSet.getInt("employee_id"));
         employee.setFirstName(resultSet.getString("first_name"));
@@ -31,6 +44,8 @@ public class EmployeeDAO {
         employee.setHireDate(resultSet.getDate("hire_date").toLocalDate());
         employee.setSalary(resultSet.getBigDecimal("salary"));
         employee.setStatus(Employee.EmployeeStatus.valueOf(resultSet.getString("status")));
+        Timestamp updatedAt = resultSet.getTimestamp("updated_at");
+        if (updatedAt != null) employee.setUpdatedAt(updatedAt.toLocalDateTime());
 
         Department d = new Department();
         d.setDepartmentId(resultSet.getInt("department_id"));
@@ -46,9 +61,9 @@ public class EmployeeDAO {
         return employee;
     }
 
-    private static final String BASE_SELECT =
+    static final String BASE_SELECT =
             "SELECT e.employee_id, e.first_name, e.last_name, e.email, e.phone, " +
-                    "e.hire_date, e.salary, e.status, " +
+                    "e.hire_date, e.salary, e.status, e.updated_at, " +
                     "d.department_id, d.department_name, " +
                     "p.position_id, p.title, p.pay_grade " +
                     "FROM employees e " +
@@ -56,15 +71,19 @@ public class EmployeeDAO {
                     "JOIN positions p ON e.position_id = p.position_id ";
 
     public List<Employee> findAll() {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            return session.doReturningWork(connection -> {
+        return findAll(EmployeeProjection.ALL);
+    }
+
+    public List<Employee> findAll(EmployeeProjection projection) {
+        try {
+            return UnitOfWork.doReturningWork(connection -> {
                 List<Employee> list = new ArrayList<>();
-                String sql = BASE_SELECT + "WHERE e.status = 'ACTIVE' ORDER BY e.last_name, e.first_name";
+                String sql = projection.select(false, false) + "WHERE e.status = 'ACTIVE' ORDER BY e.last_name, e.first_name";
                 try (PreparedStatement ps = connection.prepareStatement(sql);
                      ResultSet resultSet = ps.executeQuery()) {
                     while (resultSet.next()) {
                         try {
-                            list.add(mapRow(resultSet));
+                            list.add(projection.mapRow(resultSet));
                         } catch (Exception e) {
                             throw new RuntimeException(e);
                         }
@@ -79,13 +98,17 @@ public class EmployeeDAO {
     }
 
     public Optional<Employee> findById(int id) {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            return session.doReturningWork(connection -> {
-                String sql = BASE_SELECT + "WHERE e.employee_id = ?";
+        return findById(id, EmployeeProjection.ALL);
+    }
+
+    public Optional<Employee> findById(int id, EmployeeProjection projection) {
+        try {
+            return UnitOfWork.doReturningWork(connection -> {
+                String sql = projection.select(false, false) + "WHERE e.employee_id = ?";
                 try (PreparedStatement ps = connection.prepareStatement(sql)) {
                     ps.setInt(1, id);
                     try (ResultSet rs = ps.executeQuery()) {
-                        if (rs.next()) return Optional.of(mapRow(rs));
+                        if (rs.next()) return Optional.of(projection.mapRow(rs));
                         return Optional.<Employee>empty();
                     } catch (Exception e) {
                         throw new RuntimeException(e);
@@ -98,29 +121,57 @@ public class EmployeeDAO {
         }
     }
 
-    public List<Employee> search(String name, String department, String position, LocalDate hireDate) {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            return session.doReturningWork(connection -> {
-                StringBuilder sql = new StringBuilder(BASE_SELECT + "WHERE e.status = 'ACTIVE' ");
-                List<Object> params = new ArrayList<>();
-
-                if (name != null && !name.isBlank()) {
-                    sql.append("AND (LOWER(e.first_name) LIKE ? OR LOWER(e.last_name) LIKE ?) ");
-                    params.add("%" + name.toLowerCase() + "%");
-                    params.add("%" + name.toLowerCase() + "%");
-                }
-                if (department != null && !department.isBlank()) {
-                    sql.append("AND LOWER(d.department_name) LIKE ? ");
-                    params.add("%" + department.toLowerCase() + "%");
-                }
-                if (position != null && !position.isBlank()) {
-                    sql.append("AND LOWER(p.title) LIKE ? ");
-                    params.add("%" + position.toLowerCase() + "%");
+    // Locks the employee row for the rest of the transaction before reading it, so concurrent updates see
+    // each other's committed values. The lock is taken on employees alone; the joined lookups stay unlocked.
+    public Optional<Employee> findByIdForUpdate(int id) {
+        try {
+            return UnitOfWork.doReturningWork(connection -> {
+                try (PreparedStatement lock = connection.prepareStatement(
+                        "SELECT employee_id FROM employees WHERE employee_id = ? FOR UPDATE")) {
+                    lock.setInt(1, id);
+                    try (ResultSet rs = lock.executeQuery()) {
+                        if (!rs.next()) return Optional.<Employee>empty();
+                    }
                 }
-                if (hireDate != null) {
-                    sql.append("AND e.hire_date = ? ");
-                    params.add(Date.valueOf(hireDate));
+                String sql = EmployeeProjection.ALL.select(false, false) + "WHERE e.employee_id = ?";
+                try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                    ps.setInt(1, id);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        if (rs.next()) return Optional.of(EmployeeProjection.ALL.mapRow(rs));
+                        return Optional.<Employee>empty();
+                    } catch (Exception e) {
+                        throw new RuntimeException(e);
+                    }
                 }
+            });
+        } catch (Exception e) {
+            logger.error("Error locking employee by id: {}", id, e);
+            throw new RuntimeException("Failed to fetch employee", e);
+        }
+    }
+
+    public Page<Employee> findPage(PageCursor after, int limit) {
+        return search(null, null, null, null, after, limit);
+    }
+
+    public Page<Employee> findPage(PageCursor after, int limit, EmployeeProjection projection) {
+        return search(null, null, null, null, after, limit, projection);
+    }
+
+    public List<Employee> search(String name, String department, String position, LocalDate hireDate) {
+        return search(name, department, position, hireDate, EmployeeProjection.ALL);
+    }
+
+    public List<Employee> search(String name, String department, String position, LocalDate hireDate,
+                                 EmployeeProjection projection) {
+        if (searchIndex.isWarm()) return searchIndex.search(name, department, position, hireDate);
+        searchIndex.warmUpAsync(this);
+        try {
+            return UnitOfWork.doReturningWork(connection -> {
+                StringBuilder sql = new StringBuilder(projection.select(!isBlank(department), !isBlank(position))
+                        + "WHERE e.status = 'ACTIVE' ");
+                List<Object> params = new ArrayList<>();
+                appendFilters(sql, params, name, department, position, hireDate);
                 sql.append("ORDER BY e.last_name, e.first_name");
 
                 try (PreparedStatement ps = connection.prepareStatement(sql.toString())) {
@@ -129,7 +180,7 @@ public class EmployeeDAO {
                     }
                     List<Employee> list = new ArrayList<>();
                     try (ResultSet rs = ps.executeQuery()) {
-                        while (rs.next()) list.add(mapRow(rs));
+                        while (rs.next()) list.add(projection.mapRow(rs));
                     } catch (Exception e) {
                         throw new RuntimeException(e);
                     }
@@ -142,11 +193,132 @@ public class EmployeeDAO {
         }
     }
 
+    public Page<Employee> search(String name, String department, String position, LocalDate hireDate,
+                                 PageCursor after, int limit) {
+        return search(name, department, position, hireDate, after, limit, EmployeeProjection.ALL);
+    }
+
+    public Page<Employee> search(String name, String department, String position, LocalDate hireDate,
+                                 PageCursor after, int limit, EmployeeProjection projection) {
+        // A cursor issued by the SQL path keeps paging in SQL order even once the index is warm.
+        if (searchIndex.isWarm() && (after == null || after.isIndexed()))
+            return searchIndex.search(name, department, position, hireDate, after, limit);
+        searchIndex.warmUpAsync(this);
+        try {
+            return UnitOfWork.doReturningWork(connection -> {
+                StringBuilder sql = new StringBuilder(projection.select(!isBlank(department), !isBlank(position))
+                        + "WHERE e.status = 'ACTIVE' ");
+                List<Object> params = new ArrayList<>();
+                appendFilters(sql, params, name, department, position, hireDate);
+                if (after != null) {
+                    sql.append("AND (e.last_name > ? OR (e.last_name = ? AND (e.first_name > ? " +
+                            "OR (e.first_name = ? AND e.employee_id > ?)))) ");
+                    params.add(after.getLastName());
+                    params.add(after.getLastName());
+                    params.add(after.getFirstName());
+                    params.add(after.getFirstName());
+                    params.add(after.getEmployeeId());
+                }
+                sql.append("ORDER BY e.last_name, e.first_name, e.employee_id LIMIT ?");
+                params.add(limit + 1);
+
+                try (PreparedStatement ps = connection.prepareStatement(sql.toString())) {
+                    for (int i = 0; i < params.size(); i++) {
+                        ps.setObject(i + 1, params.get(i));
+                    }
+                    List<Employee> list = new ArrayList<>(limit + 1);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) list.add(projection.mapRow(rs));
+                    } catch (Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                    return toPage(list, limit);
+                }
+            });
+        } catch (Exception e) {
+            logger.error("Error fetching employee page", e);
+            throw new RuntimeException("Failed to fetch employees", e);
+        }
+    }
+
+    public int stream(String name, String department, String position, LocalDate hireDate,
+                      RowHandler<? super Employee> handler) {
+        return stream(name, department, position, hireDate, EmployeeProjection.ALL, handler);
+    }
+
+    public int stream(String name, String department, String position, LocalDate hireDate,
+                      EmployeeProjection projection, RowHandler<? super Employee> handler) {
+        try {
+            return UnitOfWork.doReturningWork(connection -> {
+                StringBuilder sql = new StringBuilder(projection.select(!isBlank(department), !isBlank(position))
+                        + "WHERE e.status = 'ACTIVE' ");
+                List<Object> params = new ArrayList<>();
+                appendFilters(sql, params, name, department, position, hireDate);
+                sql.append("ORDER BY e.last_name, e.first_name");
+
+                try (PreparedStatement ps = connection.prepareStatement(sql.toString(),
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                    ps.setFetchSize(STREAM_FETCH_SIZE);
+                    for (int i = 0; i < params.size(); i++) {
+                        ps.setObject(i + 1, params.get(i));
+                    }
+                    int count = 0;
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            handler.accept(projection.mapRow(rs));
+                            count++;
+                        }
+                    } catch (Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                    return count;
+                }
+            });
+        } catch (Exception e) {
+            logger.error("Error streaming employees", e);
+            throw new RuntimeException("Failed to stream employees", e);
+        }
+    }
+
+    private Page<Employee> toPage(List<Employee> rows, int limit) {
+        if (rows.size() <= limit) return new Page<>(rows, null);
+        List<Employee> items = rows.subList(0, limit);
+        Employee last = items.get(limit - 1);
+        return new Page<>(new ArrayList<>(items),
+                new PageCursor(last.getLastName(), last.getFirstName(), last.getEmployeeId()).encode());
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private void appendFilters(StringBuilder sql, List<Object> params,
+                               String name, String department, String position, LocalDate hireDate) {
+        if (name != null && !name.isBlank()) {
+            sql.append("AND (LOWER(e.first_name) LIKE ? OR LOWER(e.last_name) LIKE ?) ");
+            params.add("%" + name.toLowerCase() + "%");
+            params.add("%" + name.toLowerCase() + "%");
+        }
+        if (department != null && !department.isBlank()) {
+            sql.append("AND LOWER(d.department_name) LIKE ? ");
+            params.add("%" + department.toLowerCase() + "%");
+        }
+        if (position != null && !position.isBlank()) {
+            sql.append("AND LOWER(p.title) LIKE ? ");
+            params.add("%" + position.toLowerCase() + "%");
+        }
+        if (hireDate != null) {
+            sql.append("AND e.hire_date = ? ");
+            params.add(Date.valueOf(hireDate));
+        }
+    }
+
     public Employee save(Employee employee) {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            return session.doReturningWork(connection -> {
-                String sql = "INSERT INTO employees (first_name, last_name, email, phone, department_id, position_id, hire_date, salary, status) " +
-                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, 'ACTIVE')";
+        try {
+            return UnitOfWork.doReturningWork(connection -> {
+                String sql = "INSERT INTO employees (first_name, last_name, email, phone, department_id, position_id, hire_date, salary, status, updated_at) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, 'ACTIVE', ?)";
+                employee.setUpdatedAt(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
                 try (PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
                     ps.setString(1, employee.getFirstName());
                     ps.setString(2, employee.getLastName());
@@ -156,12 +328,15 @@ public class EmployeeDAO {
                     ps.setInt(6, employee.getPosition().getPositionId());
                     ps.setDate(7, Date.valueOf(employee.getHireDate()));
                     ps.setBigDecimal(8, employee.getSalary());
+                    ps.setTimestamp(9, Timestamp.valueOf(employee.getUpdatedAt()));
                     ps.executeUpdate();
 
                     try (ResultSet keys = ps.getGeneratedKeys()) {
                         if (keys.next()) employee.setEmployeeId(keys.getInt(1));
                     }
                 }
+                ChangeLogDAO.record(connection, ChangeLogDAO.UPSERT, List.of(employee.getEmployeeId()));
+                UnitOfWork.afterCommit(() -> searchIndex.put(employee));
                 return employee;
             });
         } catch (Exception e) {
@@ -170,12 +345,54 @@ public class EmployeeDAO {
         }
     }
 
+    public List<Employee> saveBatch(List<Employee> employees) {
+        try {
+            return UnitOfWork.inTransaction(() -> UnitOfWork.doReturningWork(connection -> {
+                String sql = "INSERT INTO employees (first_name, last_name, email, phone, department_id, position_id, hire_date, salary, status, updated_at) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, 'ACTIVE', ?)";
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+                try (PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                    for (Employee employee : employees) {
+                        employee.setUpdatedAt(now.toLocalDateTime());
+                        ps.setString(1, employee.getFirstName());
+                        ps.setString(2, employee.getLastName());
+                        ps.setString(3, employee.getEmail());
+                        ps.setString(4, employee.getPhone());
+                        ps.setInt(5, employee.getDepartment().getDepartmentId());
+                        ps.setInt(6, employee.getPosition().getPositionId());
+                        ps.setDate(7, Date.valueOf(employee.getHireDate()));
+                        ps.setBigDecimal(8, employee.getSalary());
+                        ps.setTimestamp(9, now);
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                    try (ResultSet keys = ps.getGeneratedKeys()) {
+                        for (Employee employee : employees) {
+                            if (keys.next()) employee.setEmployeeId(keys.getInt(1));
+                        }
+                    }
+                }
+                List<Integer> ids = new ArrayList<>(employees.size());
+                for (Employee employee : employees) ids.add(employee.getEmployeeId());
+                ChangeLogDAO.record(connection, ChangeLogDAO.UPSERT, ids);
+                UnitOfWork.afterCommit(() -> {
+                    for (Employee employee : employees) searchIndex.put(employee);
+                });
+                return employees;
+            }));
+        } catch (Exception e) {
+            logger.error("Error saving employee batch of {}", employees.size(), e);
+            throw new RuntimeException("Failed to save employee batch", e);
+        }
+    }
+
     public Employee update(Employee employee) {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            return session.doReturningWork(connection -> {
+        try {
+            return UnitOfWork.doReturningWork(connection -> {
                 String sql = "UPDATE employees SET first_name=?, last_name=?, email=?, phone=?, " +
-                        "department_id=?, position_id=?, hire_date=?, salary=? " +
+                        "department_id=?, position_id=?, hire_date=?, salary=?, updated_at=? " +
                         "WHERE employee_id=?";
+                employee.setUpdatedAt(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
                 try (PreparedStatement ps = connection.prepareStatement(sql)) {
                     ps.setString(1, employee.getFirstName());
                     ps.setString(2, employee.getLastName());
@@ -185,9 +402,13 @@ public class EmployeeDAO {
                     ps.setInt(6, employee.getPosition().getPositionId());
                     ps.setDate(7, Date.valueOf(employee.getHireDate()));
                     ps.setBigDecimal(8, employee.getSalary());
-                    ps.setInt(9, employee.getEmployeeId());
-                    ps.executeUpdate();
+                    ps.setTimestamp(9, Timestamp.valueOf(employee.getUpdatedAt()));
+                    ps.setInt(10, employee.getEmployeeId());
+                    if (ps.executeUpdate() > 0) {
+                        ChangeLogDAO.record(connection, ChangeLogDAO.UPSERT, List.of(employee.getEmployeeId()));
+                    }
                 }
+                UnitOfWork.afterCommit(() -> searchIndex.put(employee));
                 return employee;
             });
         } catch (Exception e) {
@@ -197,13 +418,14 @@ public class EmployeeDAO {
     }
 
     public void deleteById(int id) {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            session.doWork(connection -> {
+        try {
+            UnitOfWork.doWork(connection -> {
                 String sql = "DELETE FROM employees WHERE employee_id = ?";
                 try (PreparedStatement ps = connection.prepareStatement(sql)) {
                     ps.setInt(1, id);
-                    ps.executeUpdate();
+                    if (ps.executeUpdate() > 0) ChangeLogDAO.record(connection, ChangeLogDAO.DELETED, List.of(id));
                 }
+                UnitOfWork.afterCommit(() -> searchIndex.remove(id));
             });
         } catch (Exception e) {
             logger.error("Error deleting employee id: {}", id, e);
@@ -211,9 +433,123 @@ public class EmployeeDAO {
         }
     }
 
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        if (emails.isEmpty()) return new HashSet<>();
+        try {
+            return UnitOfWork.doReturningWork(connection -> {
+                // The email column's case-insensitive collation makes IN match like LOWER()=LOWER(), but can use the unique index.
+                String sql = "SELECT email FROM employees WHERE email IN (" +
+                        String.join(", ", Collections.nCopies(emails.size(), "?")) + ")";
+                Set<String> existing = new HashSet<>();
+                try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                    int i = 1;
+                    for (String email : emails) ps.setString(i++, email);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) existing.add(rs.getString(1).toLowerCase());
+                    }
+                }
+                return existing;
+            });
+        } catch (Exception e) {
+            logger.error("Error checking existing emails", e);
+            throw new RuntimeException("Failed to check emails", e);
+        }
+    }
+
+    public List<Integer> findActiveIds(Integer departmentId, Integer positionId, int limit) {
+        try {
+            return UnitOfWork.doReturningWork(connection -> {
+                StringBuilder sql = new StringBuilder("SELECT employee_id FROM employees WHERE status = 'ACTIVE' ");
+                List<Object> params = new ArrayList<>();
+                if (departmentId != null) {
+                    sql.append("AND department_id = ? ");
+                    params.add(departmentId);
+                }
+                if (positionId != null) {
+                    sql.append("AND position_id = ? ");
+                    params.add(positionId);
+                }
+                sql.append("ORDER BY employee_id LIMIT ?");
+                params.add(limit);
+                try (PreparedStatement ps = connection.prepareStatement(sql.toString())) {
+                    for (int i = 0; i < params.size(); i++) {
+                        ps.setObject(i + 1, params.get(i));
+                    }
+                    List<Integer> ids = new ArrayList<>();
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) ids.add(rs.getInt(1));
+                    }
+                    return ids;
+                }
+            });
+        } catch (Exception e) {
+            logger.error("Error fetching employee ids", e);
+            throw new RuntimeException("Failed to fetch employee ids", e);
+        }
+    }
+
+    public int streamPayroll(RowHandler<? super Employee> handler) {
+        try {
+            return UnitOfWork.doReturningWork(connection -> {
+                String sql = "SELECT employee_id, department_id, position_id, salary FROM employees WHERE status = 'ACTIVE'";
+                try (PreparedStatement ps = connection.prepareStatement(sql,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                    ps.setFetchSize(STREAM_FETCH_SIZE);
+                    int count = 0;
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            Employee employee = new Employee();
+                            employee.setEmployeeId(rs.getInt("employee_id"));
+                            Department department = new Department();
+                            department.setDepartmentId(rs.getInt("department_id"));
+                            employee.setDepartment(department);
+                            Position position = new Position();
+                            position.setPositionId(rs.getInt("position_id"));
+                            employee.setPosition(position);
+                            employee.setSalary(rs.getBigDecimal("salary"));
+                            handler.accept(employee);
+                            count++;
+                        }
+                    } catch (IOException e) {
+                        throw new RuntimeException(e);
+                    }
+                    return count;
+                }
+            });
+        } catch (Exception e) {
+            logger.error("Error streaming payroll rows", e);
+            throw new RuntimeException("Failed to stream payroll rows", e);
+        }
+    }
+
+    public List<Employee> findRecentHires(int limit) {
+        try {
+            return UnitOfWork.doReturningWork(connection -> {
+                String sql = BASE_SELECT + "WHERE e.status = 'ACTIVE' ORDER BY e.hire_date DESC, e.employee_id DESC LIMIT ?";
+                try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                    ps.setInt(1, limit);
+                    List<Employee> employees = new ArrayList<>();
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            try {
+                                employees.add(mapRow(rs));
+                            } catch (Exception e) {
+                                throw new RuntimeException(e);
+                            }
+                        }
+                    }
+                    return employees;
+                }
+            });
+        } catch (Exception e) {
+            logger.error("Error fetching recent hires", e);
+            throw new RuntimeException("Failed to fetch recent hires", e);
+        }
+    }
+
     public boolean emailExists(String email, Integer excludeId) {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            return session.doReturningWork(connection -> {
+        try {
+            return UnitOfWork.doReturningWork(connection -> {
                 String sql = excludeId != null
                         ? "SELECT COUNT(*) FROM employees WHERE LOWER(email) = LOWER(?) AND employee_id <> ?"
                         : "SELECT COUNT(*) FROM employees WHERE LOWER(email) = LOWER(?)";
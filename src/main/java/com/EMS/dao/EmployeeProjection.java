@@ -0,0 +1,282 @@
+package com.EMS.dao;
+
+import com.EMS.entity.Department;
+import com.EMS.entity.Employee;
+import com.EMS.entity.Position;
+import com.EMS.util.Page;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// A ?fields= projection of Employee: the SELECT list, row mapper and JSON writer for a set of fields,
+// built once per distinct projection.
+public class EmployeeProjection {
+
+    public static final EmployeeProjection ALL = new EmployeeProjection(null);
+
+    private static final int MAX_CACHED = 256;
+    private static final Map<String, Field> FIELDS = new LinkedHashMap<>();
+    private static final Map<String, EmployeeProjection> CACHE = new ConcurrentHashMap<>();
+
+    static {
+        // Ids and names are always read because paging cursors are built from them.
+        add(new Field("employeeId", null, "employeeId", "e.employee_id", true,
+                (rs, e) -> e.setEmployeeId(rs.getInt("employee_id")),
+                (e, gen) -> gen.writeNumber(e.getEmployeeId())));
+        add(new Field("firstName", null, "firstName", "e.first_name", true,
+                (rs, e) -> e.setFirstName(rs.getString("first_name")),
+                (e, gen) -> gen.writeString(e.getFirstName())));
+        add(new Field("lastName", null, "lastName", "e.last_name", true,
+                (rs, e) -> e.setLastName(rs.getString("last_name")),
+                (e, gen) -> gen.writeString(e.getLastName())));
+        add(new Field("fullName", null, "fullName", null, false, null,
+                (e, gen) -> gen.writeString(e.getFullName())));
+        add(new Field("email", null, "email", "e.email", false,
+                (rs, e) -> e.setEmail(rs.getString("email")),
+                (e, gen) -> gen.writeString(e.getEmail())));
+        add(new Field("phone", null, "phone", "e.phone", false,
+                (rs, e) -> e.setPhone(rs.getString("phone")),
+                (e, gen) -> gen.writeString(e.getPhone())));
+        add(new Field("department.departmentId", "department", "departmentId", "e.department_id", false,
+                (rs, e) -> department(e).setDepartmentId(rs.getInt("department_id")),
+                (e, gen) -> writeNumber(gen, e.getDepartment() != null ? e.getDepartment().getDepartmentId() : null)));
+        add(new Field("department.departmentName", "department", "departmentName", "d.department_name", false,
+                (rs, e) -> department(e).setDepartmentName(rs.getString("department_name")),
+                (e, gen) -> gen.writeString(e.getDepartment() != null ? e.getDepartment().getDepartmentName() : null)));
+        add(new Field("position.positionId", "position", "positionId", "e.position_id", false,
+                (rs, e) -> position(e).setPositionId(rs.getInt("position_id")),
+                (e, gen) -> writeNumber(gen, e.getPosition() != null ? e.getPosition().getPositionId() : null)));
+        add(new Field("position.title", "position", "title", "p.title", false,
+                (rs, e) -> position(e).setTitle(rs.getString("title")),
+                (e, gen) -> gen.writeString(e.getPosition() != null ? e.getPosition().getTitle() : null)));
+        add(new Field("position.payGrade", "position", "payGrade", "p.pay_grade", false,
+                (rs, e) -> position(e).setPayGrade(rs.getString("pay_grade")),
+                (e, gen) -> gen.writeString(e.getPosition() != null ? e.getPosition().getPayGrade() : null)));
+        add(new Field("hireDate", null, "hireDate", "e.hire_date", false,
+                (rs, e) -> e.setHireDate(rs.getDate("hire_date").toLocalDate()),
+                (e, gen) -> gen.writeString(e.getHireDate() != null ? e.getHireDate().toString() : null)));
+        add(new Field("salary", null, "salary", "e.salary", false,
+                (rs, e) -> e.setSalary(rs.getBigDecimal("salary")),
+                (e, gen) -> gen.writeNumber(e.getSalary())));
+        add(new Field("status", null, "status", "e.status", false,
+                (rs, e) -> e.setStatus(Employee.EmployeeStatus.valueOf(rs.getString("status"))),
+                (e, gen) -> gen.writeString(e.getStatus() != null ? e.getStatus().name() : null)));
+        add(new Field("updatedAt", null, "updatedAt", "e.updated_at", false,
+                (rs, e) -> {
+                    Timestamp updatedAt = rs.getTimestamp("updated_at");
+                    if (updatedAt != null) e.setUpdatedAt(updatedAt.toLocalDateTime());
+                },
+                (e, gen) -> gen.writeString(e.getUpdatedAt() != null
+                        ? DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(e.getUpdatedAt()) : null)));
+    }
+
+    private final String key;
+    private final List<Field> selected;
+    private final List<Field> columns;
+    private final String[] selects = new String[4];
+
+    private EmployeeProjection(List<Field> selected) {
+        this.selected = selected;
+        if (selected == null) {
+            key = "";
+            columns = null;
+            for (int i = 0; i < selects.length; i++) selects[i] = EmployeeDAO.BASE_SELECT;
+            return;
+        }
+        List<String> names = new ArrayList<>();
+        for (Field field : selected) names.add(field.name);
+        key = String.join(",", names);
+
+        Set<Field> read = new LinkedHashSet<>();
+        for (Field field : FIELDS.values()) {
+            if (field.column != null && (field.always || selected.contains(field))) read.add(field);
+        }
+        columns = new ArrayList<>(read);
+        List<String> list = new ArrayList<>();
+        boolean departments = false;
+        boolean positions = false;
+        for (Field field : columns) {
+            list.add(field.column);
+            departments |= field.column.startsWith("d.");
+            positions |= field.column.startsWith("p.");
+        }
+        String select = "SELECT " + String.join(", ", list) + " FROM employees e ";
+        for (int i = 0; i < selects.length; i++) {
+            StringBuilder sql = new StringBuilder(select);
+            if (departments || (i & 1) != 0) sql.append("JOIN departments d ON e.department_id = d.department_id ");
+            if (positions || (i & 2) != 0) sql.append("JOIN positions p ON e.position_id = p.position_id ");
+            selects[i] = sql.toString();
+        }
+    }
+
+    private static void add(Field field) {
+        FIELDS.put(field.name, field);
+    }
+
+    // Accepts comma-separated field names; "department" and "position" select all of their nested fields.
+    public static EmployeeProjection parse(String fields) {
+        if (fields == null || fields.isBlank()) return ALL;
+        Set<String> requested = new LinkedHashSet<>();
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) continue;
+            if (trimmed.equals("department") || trimmed.equals("position")) {
+                for (String known : FIELDS.keySet()) {
+                    if (known.startsWith(trimmed + ".")) requested.add(known);
+                }
+            } else if (FIELDS.containsKey(trimmed)) {
+                requested.add(trimmed);
+            } else {
+                throw new IllegalArgumentException("Unknown field '" + trimmed + "'. Allowed: department, position, "
+                        + String.join(", ", FIELDS.keySet()) + ".");
+            }
+        }
+        if (requested.isEmpty()) return ALL;
+        List<Field> selected = new ArrayList<>();
+        for (Field field : FIELDS.values()) {
+            if (requested.contains(field.name)) selected.add(field);
+        }
+        List<String> names = new ArrayList<>();
+        for (Field field : selected) names.add(field.name);
+        String key = String.join(",", names);
+        EmployeeProjection cached = CACHE.get(key);
+        if (cached != null) return cached;
+        EmployeeProjection projection = new EmployeeProjection(selected);
+        if (CACHE.size() >= MAX_CACHED) return projection;
+        EmployeeProjection raced = CACHE.putIfAbsent(key, projection);
+        return raced != null ? raced : projection;
+    }
+
+    public boolean isAll() {
+        return selected == null;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    // The joins needed by the projection itself, plus any a name filter on department or position requires.
+    String select(boolean departmentFilter, boolean positionFilter) {
+        return selects[(departmentFilter ? 1 : 0) | (positionFilter ? 2 : 0)];
+    }
+
+    Employee mapRow(ResultSet rs) throws Exception {
+        if (columns == null) return EmployeeDAO.mapRow(rs);
+        Employee employee = new Employee();
+        for (Field field : columns) field.reader.read(rs, employee);
+        return employee;
+    }
+
+    public Object view(Employee employee) {
+        return selected == null ? employee : new View(this, employee);
+    }
+
+    public List<Object> view(List<Employee> employees) {
+        if (selected == null) return Collections.unmodifiableList(employees);
+        List<Object> views = new ArrayList<>(employees.size());
+        for (Employee employee : employees) views.add(view(employee));
+        return views;
+    }
+
+    public Page<Object> view(Page<Employee> page) {
+        return new Page<>(view(page.getItems()), page.getNext());
+    }
+
+    private void write(Employee employee, JsonGenerator gen) throws IOException {
+        gen.writeStartObject();
+        String group = null;
+        for (Field field : selected) {
+            if (!Objects.equals(group, field.group)) {
+                if (group != null) gen.writeEndObject();
+                group = field.group;
+                if (group != null) gen.writeObjectFieldStart(group);
+            }
+            gen.writeFieldName(field.property);
+            field.writer.write(employee, gen);
+        }
+        if (group != null) gen.writeEndObject();
+        gen.writeEndObject();
+    }
+
+    private static Department department(Employee employee) {
+        if (employee.getDepartment() == null) employee.setDepartment(new Department());
+        return employee.getDepartment();
+    }
+
+    private static Position position(Employee employee) {
+        if (employee.getPosition() == null) employee.setPosition(new Position());
+        return employee.getPosition();
+    }
+
+    private static void writeNumber(JsonGenerator gen, Integer value) throws IOException {
+        if (value == null) gen.writeNull();
+        else gen.writeNumber(value);
+    }
+
+    private interface Reader {
+        void read(ResultSet rs, Employee employee) throws SQLException;
+    }
+
+    private interface Writer {
+        void write(Employee employee, JsonGenerator gen) throws IOException;
+    }
+
+    private static class Field {
+
+        private final String name;
+        private final String group;
+        private final String property;
+        private final String column;
+        private final boolean always;
+        private final Reader reader;
+        private final Writer writer;
+
+        Field(String name, String group, String property, String column, boolean always, Reader reader, Writer writer) {
+            this.name = name;
+            this.group = group;
+            this.property = property;
+            this.column = column;
+            this.always = always;
+            this.reader = reader;
+            this.writer = writer;
+        }
+    }
+
+    private static class View extends JsonSerializable.Base {
+
+        private final EmployeeProjection projection;
+        private final Employee employee;
+
+        View(EmployeeProjection projection, Employee employee) {
+            this.projection = projection;
+            this.employee = employee;
+        }
+
+        @Override
+        public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            projection.write(employee, gen);
+        }
+
+        @Override
+        public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer)
+                throws IOException {
+            serialize(gen, serializers);
+        }
+    }
+}
@@ -3,22 +3,38 @@ package com.EMS.dao;
 import com.EMS.entity.Department;
 import com.EMS.entity.PastEmployee;
 import com.EMS.entity.Position;
-import com.EMS.util.HibernateUtil;
-import org.hibernate.Session;
+import com.EMS.search.EmployeeSearchIndex;
+import com.EMS.util.ArchiveCursor;
+import com.EMS.util.Page;
+import com.EMS.util.UnitOfWork;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Statement;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public class PastEmployeeDAO {
 
     private static final Logger logger = LoggerFactory.getLogger(PastEmployeeDAO.class);
+    private static final String BASE_SELECT =
+            "SELECT pe.past_employee_id, pe.original_employee_id, pe.first_name, pe.last_name, pe.email, " +
+            "pe.phone, pe.hire_date, pe.salary, pe.termination_date, pe.termination_reason, " +
+            "d.department_id, d.department_name, p.position_id, p.title " +
+            "FROM past_employees pe " +
+            "JOIN departments d ON pe.department_id = d.department_id " +
+            "JOIN positions p ON pe.position_id = p.position_id ";
+    private final EmployeeSearchIndex searchIndex = EmployeeSearchIndex.getInstance();
 
     private PastEmployee mapRow(ResultSet rs) throws Exception {
         PastEmployee pastEmployee = new PastEmployee();
@@ -47,8 +63,8 @@ public class PastEmployeeDAO {
     }
 
     public PastEmployee save(PastEmployee pe) {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            return session.doReturningWork(connection -> {
+        try {
+            return UnitOfWork.doReturningWork(connection -> {
                 String sql = "INSERT INTO past_employees (original_employee_id, first_name, last_name, email, phone, " +
                         "department_id, position_id, hire_date, salary, termination_date, termination_reason) " +
                         "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
@@ -77,15 +93,93 @@ public class PastEmployeeDAO {
         }
     }
 
+    public List<PastEmployee> archive(Collection<Integer> employeeIds, String reason) {
+        if (employeeIds.isEmpty()) return new ArrayList<>();
+        try {
+            return UnitOfWork.inTransaction(() -> UnitOfWork.doReturningWork(connection -> {
+                String in = "(" + String.join(", ", Collections.nCopies(employeeIds.size(), "?")) + ")";
+                LocalDate terminationDate = LocalDate.now();
+                List<Integer> locked = new ArrayList<>();
+                try (PreparedStatement ps = connection.prepareStatement(
+                        "SELECT employee_id FROM employees WHERE employee_id IN " + in + " ORDER BY employee_id FOR UPDATE")) {
+                    bindIds(ps, 1, employeeIds);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) locked.add(rs.getInt(1));
+                    }
+                }
+                if (locked.isEmpty()) return new ArrayList<PastEmployee>();
+                String lockedIn = "(" + String.join(", ", Collections.nCopies(locked.size(), "?")) + ")";
+
+                List<PastEmployee> archived = new ArrayList<>(locked.size());
+                try (PreparedStatement ps = connection.prepareStatement(
+                        EmployeeDAO.BASE_SELECT + "WHERE e.employee_id IN " + lockedIn + " ORDER BY e.employee_id")) {
+                    bindIds(ps, 1, locked);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            PastEmployee pe = PastEmployee.from(EmployeeDAO.mapRow(rs), reason);
+                            pe.setTerminationDate(terminationDate);
+                            archived.add(pe);
+                        }
+                    } catch (SQLException e) {
+                        throw e;
+                    } catch (Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+
+                String insert = "INSERT INTO past_employees (original_employee_id, first_name, last_name, email, phone, " +
+                        "department_id, position_id, hire_date, salary, termination_date, termination_reason) " +
+                        "SELECT employee_id, first_name, last_name, email, phone, department_id, position_id, " +
+                        "hire_date, salary, ?, ? FROM employees WHERE employee_id IN " + lockedIn + " ORDER BY employee_id";
+                try (PreparedStatement ps = connection.prepareStatement(insert)) {
+                    ps.setDate(1, Date.valueOf(terminationDate));
+                    ps.setString(2, reason);
+                    bindIds(ps, 3, locked);
+                    ps.executeUpdate();
+                }
+
+                // INSERT ... SELECT ids are not consecutive under innodb_autoinc_lock_mode=2, so read them back
+                // by original id. The employee rows are locked, so the newest row per id is the one just written.
+                Map<Integer, Integer> pastIds = new HashMap<>();
+                try (PreparedStatement ps = connection.prepareStatement(
+                        "SELECT original_employee_id, MAX(past_employee_id) FROM past_employees " +
+                                "WHERE termination_date = ? AND original_employee_id IN " + lockedIn +
+                                " GROUP BY original_employee_id")) {
+                    ps.setDate(1, Date.valueOf(terminationDate));
+                    bindIds(ps, 2, locked);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) pastIds.put(rs.getInt(1), rs.getInt(2));
+                    }
+                }
+                for (PastEmployee pe : archived) pe.setPastEmployeeId(pastIds.get(pe.getOriginalEmployeeId()));
+
+                try (PreparedStatement ps = connection.prepareStatement(
+                        "DELETE FROM employees WHERE employee_id IN " + lockedIn)) {
+                    bindIds(ps, 1, locked);
+                    ps.executeUpdate();
+                }
+                ChangeLogDAO.record(connection, ChangeLogDAO.ARCHIVED, locked);
+                UnitOfWork.afterCommit(() -> {
+                    for (Integer id : locked) searchIndex.remove(id);
+                });
+                return archived;
+            }));
+        } catch (Exception e) {
+            logger.error("Error archiving {} employees", employeeIds.size(), e);
+            throw new RuntimeException("Failed to archive employees", e);
+        }
+    }
+
+    private static void bindIds(PreparedStatement ps, int from, Collection<Integer> ids) throws SQLException {
+        int i = from;
+        for (Integer id : ids) ps.setInt(i++, id);
+    }
+
     public List<PastEmployee> findAll() {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            return session.doReturningWork(connection -> {
+        try {
+            return UnitOfWork.doReturningWork(connection -> {
                 List<PastEmployee> list = new ArrayList<>();
-                String sql = "SELECT pe.*, d.department_name, p.title, p.pay_grade " +
-                        "FROM past_employees pe " +
-                        "JOIN departments d ON pe.department_id = d.department_id " +
-                        "JOIN positions p ON pe.position_id = p.position_id " +
-                        "ORDER BY pe.termination_date DESC";
+                String sql = BASE_SELECT + "ORDER BY pe.termination_date DESC, pe.past_employee_id DESC";
                 try (PreparedStatement ps = connection.prepareStatement(sql);
                      ResultSet rs = ps.executeQuery()) {
                     while (rs.next()) list.add(mapRow(rs));
@@ -100,14 +194,125 @@ public class PastEmployeeDAO {
         }
     }
 
+    public Page<PastEmployee> findPage(LocalDate from, LocalDate to, Integer departmentId, String reason,
+                                       ArchiveCursor after, int limit) {
+        try {
+            return UnitOfWork.doReturningWork(connection -> {
+                List<String> where = new ArrayList<>();
+                List<Object> params = new ArrayList<>();
+                addFilters(where, params, from, to, departmentId, reason);
+                if (after != null) {
+                    // The redundant upper bound on termination_date lets MySQL prune newer partitions.
+                    where.add("pe.termination_date <= ? AND (pe.termination_date < ? OR pe.past_employee_id < ?)");
+                    params.add(Date.valueOf(after.getTerminationDate()));
+                    params.add(Date.valueOf(after.getTerminationDate()));
+                    params.add(after.getPastEmployeeId());
+                }
+                StringBuilder sql = new StringBuilder(BASE_SELECT);
+                if (!where.isEmpty()) sql.append("WHERE ").append(String.join(" AND ", where)).append(' ');
+                sql.append("ORDER BY pe.termination_date DESC, pe.past_employee_id DESC LIMIT ?");
+                params.add(limit + 1);
+
+                try (PreparedStatement ps = connection.prepareStatement(sql.toString())) {
+                    for (int i = 0; i < params.size(); i++) {
+                        ps.setObject(i + 1, params.get(i));
+                    }
+                    List<PastEmployee> list = new ArrayList<>(limit + 1);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) list.add(mapRow(rs));
+                    } catch (Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                    return toPage(list, limit);
+                }
+            });
+        } catch (Exception e) {
+            logger.error("Error fetching past employee page", e);
+            throw new RuntimeException("Failed to fetch past employees", e);
+        }
+    }
+
+    public int stream(LocalDate from, LocalDate to, Integer departmentId, String reason,
+                      RowHandler<? super PastEmployee> handler) {
+        try {
+            return UnitOfWork.doReturningWork(connection -> {
+                List<String> where = new ArrayList<>();
+                List<Object> params = new ArrayList<>();
+                addFilters(where, params, from, to, departmentId, reason);
+                StringBuilder sql = new StringBuilder(BASE_SELECT);
+                if (!where.isEmpty()) sql.append("WHERE ").append(String.join(" AND ", where)).append(' ');
+                sql.append("ORDER BY pe.termination_date DESC, pe.past_employee_id DESC");
+                try (PreparedStatement ps = connection.prepareStatement(sql.toString(),
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                    ps.setFetchSize(EmployeeDAO.STREAM_FETCH_SIZE);
+                    for (int i = 0; i < params.size(); i++) {
+                        ps.setObject(i + 1, params.get(i));
+                    }
+                    int count = 0;
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            handler.accept(mapRow(rs));
+                            count++;
+                        }
+                    } catch (Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                    return count;
+                }
+            });
+        } catch (Exception e) {
+            logger.error("Error streaming past employees", e);
+            throw new RuntimeException("Failed to stream past employees", e);
+        }
+    }
+
+    private Page<PastEmployee> toPage(List<PastEmployee> rows, int limit) {
+        if (rows.size() <= limit) return new Page<>(rows, null);
+        List<PastEmployee> items = rows.subList(0, limit);
+        PastEmployee last = items.get(limit - 1);
+        return new Page<>(new ArrayList<>(items),
+                new ArchiveCursor(last.getTerminationDate(), last.getPastEmployeeId()).encode());
+    }
+
+    // termination_date is the partitioning column, so a date range restricts the scan to the matching years.
+    private void addFilters(List<String> where, List<Object> params,
+                            LocalDate from, LocalDate to, Integer departmentId, String reason) {
+        if (from != null) {
+            where.add("pe.termination_date >= ?");
+            params.add(Date.valueOf(from));
+        }
+        if (to != null) {
+            where.add("pe.termination_date <= ?");
+            params.add(Date.valueOf(to));
+        }
+        if (departmentId != null) {
+            where.add("pe.department_id = ?");
+            params.add(departmentId);
+        }
+        if (reason != null && !reason.isBlank()) {
+            where.add("pe.termination_reason = ?");
+            params.add(reason.trim());
+        }
+    }
+
+    public int count() {
+        try {
+            return UnitOfWork.doReturningWork(connection -> {
+                try (PreparedStatement ps = connection.prepareStatement("SELECT COUNT(*) FROM past_employees");
+                     ResultSet rs = ps.executeQuery()) {
+                    return rs.next() ? rs.getInt(1) : 0;
+                }
+            });
+        } catch (Exception e) {
+            logger.error("Error counting past employees", e);
+            throw new RuntimeException("Failed to count past employees", e);
+        }
+    }
+
     public Optional<PastEmployee> findById(int id) {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            return session.doReturningWork(connection -> {
-                String sql = "SELECT pe.*, d.department_name, p.title, p.pay_grade " +
-                        "FROM past_employees pe " +
-                        "JOIN departments d ON pe.department_id = d.department_id " +
-                        "JOIN positions p ON pe.position_id = p.position_id " +
-                        "WHERE pe.past_employee_id = ?";
+        try {
+            return UnitOfWork.doReturningWork(connection -> {
+                String sql = BASE_SELECT + "WHERE pe.past_employee_id = ?";
                 try (PreparedStatement ps = connection.prepareStatement(sql)) {
                     ps.setInt(1, id);
                     try (ResultSet rs = ps.executeQuery()) {
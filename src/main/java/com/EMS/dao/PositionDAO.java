@@ -1,8 +1,7 @@
 package com.EMS.dao;
 
 import com.EMS.entity.Position;
-import com.EMS.util.HibernateUtil;
-import org.hibernate.Session;
+import com.EMS.util.UnitOfWork;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -17,8 +16,8 @@ public class PositionDAO {
     private static final Logger logger = LoggerFactory.getLogger(PositionDAO.class);
 
     public List<Position> findAll() {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            return session.doReturningWork(connection -> {
+        try {
+            return UnitOfWork.doReturningWork(connection -> {
                 List<Position> list = new ArrayList<>();
                 String sql = "SELECT position_id, title, pay_grade FROM positions ORDER BY title";
                 try (PreparedStatement ps = connection.prepareStatement(sql);
@@ -40,8 +39,8 @@ public class PositionDAO {
     }
 
     public Optional<Position> findById(int id) {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            return session.doReturningWork(connection -> {
+        try {
+            return UnitOfWork.doReturningWork(connection -> {
                 String sql = "SELECT position_id, title, pay_grade FROM positions WHERE position_id = ?";
                 try (PreparedStatement ps = connection.prepareStatement(sql)) {
                     ps.setInt(1, id);
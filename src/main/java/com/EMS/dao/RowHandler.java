@@ -0,0 +1,9 @@
+package com.EMS.dao;
+
+import java.io.IOException;
+
+@FunctionalInterface
+public interface RowHandler<T> {
+
+    void accept(T row) throws IOException;
+}
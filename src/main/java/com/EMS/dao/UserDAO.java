@@ -1,14 +1,17 @@
 package com.EMS.dao;
 
 import com.EMS.entity.User;
-import com.EMS.util.HibernateUtil;
-import org.hibernate.Session;
-import org.hibernate.Transaction;
+import com.EMS.util.UnitOfWork;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.Optional;
 
 public class UserDAO {
@@ -16,9 +19,9 @@ public class UserDAO {
     private static final Logger logger = LoggerFactory.getLogger(UserDAO.class);
 
     public Optional<User> findByUsername(String username) {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+        try {
 
-            return session.doReturningWork(connection -> {
+            return UnitOfWork.doReturningWork(connection -> {
                 String sql = "SELECT user_id, username, password_hash, role, is_active " +
                         "FROM users WHERE LOWER(username) = LOWER(?) AND is_active = 1";
 
@@ -47,14 +50,29 @@ public class UserDAO {
     }
 
     public User save(User user) {
-        Transaction transaction = null;
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            transaction = session.beginTransaction();
-            session.persist(user);
-            transaction.commit();
-            return user;
+        try {
+            return UnitOfWork.doReturningWork(connection -> {
+                String sql = "INSERT INTO users (username, password_hash, role, employee_id, is_active, created_at) " +
+                        "VALUES (?, ?, ?, ?, ?, ?)";
+                user.setCreatedAt(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+                try (PreparedStatement preparedStatement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                    preparedStatement.setString(1, user.getUsername());
+                    preparedStatement.setString(2, user.getPasswordHash());
+                    preparedStatement.setString(3, user.getRole().name());
+                    if (user.getEmployee() != null) preparedStatement.setInt(4, user.getEmployee().getEmployeeId());
+                    else preparedStatement.setNull(4, Types.INTEGER);
+                    preparedStatement.setBoolean(5, user.isActive());
+                    preparedStatement.setTimestamp(6, Timestamp.valueOf(user.getCreatedAt()));
+                    preparedStatement.executeUpdate();
+
+                    try (ResultSet keys = preparedStatement.getGeneratedKeys()) {
+                        if (keys.next()) user.setUserId(keys.getInt(1));
+                    }
+                }
+                return user;
+            });
         } catch (Exception e) {
-            if (transaction != null) transaction.rollback();
+            logger.error("Error saving user: {}", user.getUsername(), e);
             throw new RuntimeException("Failed to save user: " + e.getMessage(), e);
         }
     }
@@ -9,7 +9,9 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "employees")
+@Table(name = "employees", indexes = {
+        @Index(name = "idx_employees_status_name", columnList = "status, last_name, first_name, employee_id")
+})
 public class Employee {
 
     @Id
@@ -173,4 +175,8 @@ public class Employee {
     public LocalDateTime getUpdatedAt() {
         return updatedAt;
     }
+
+    public void setUpdatedAt(LocalDateTime ua) {
+        this.updatedAt = ua;
+    }
 }
\ No newline at end of file
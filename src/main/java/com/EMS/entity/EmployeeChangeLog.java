@@ -0,0 +1,43 @@
+package com.EMS.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "employee_changes", indexes = {
+        @Index(name = "idx_employee_changes_employee", columnList = "employee_id, change_id")
+})
+public class EmployeeChangeLog {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "change_id")
+    private Long changeId;
+
+    @Column(name = "employee_id", nullable = false)
+    private Integer employeeId;
+
+    @Column(name = "change_type", nullable = false, length = 10)
+    private String changeType;
+
+    @Column(name = "changed_at", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3)")
+    private LocalDateTime changedAt;
+
+    public Long getChangeId() {
+        return changeId;
+    }
+
+    public Integer getEmployeeId() {
+        return employeeId;
+    }
+
+    public String getChangeType() {
+        return changeType;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+}
@@ -8,7 +8,11 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "past_employees")
+@Table(name = "past_employees", indexes = {
+        @Index(name = "idx_past_termination", columnList = "termination_date, past_employee_id"),
+        @Index(name = "idx_past_department", columnList = "department_id, termination_date, past_employee_id"),
+        @Index(name = "idx_past_reason", columnList = "termination_reason, termination_date, past_employee_id")
+})
 public class PastEmployee {
 
     @Id
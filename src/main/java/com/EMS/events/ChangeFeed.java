@@ -0,0 +1,74 @@
+package com.EMS.events;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+public class ChangeFeed {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeFeed.class);
+    private static final ChangeFeed INSTANCE = new ChangeFeed();
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final int capacity = Integer.getInteger("ems.changes.replayBuffer", 10000);
+    private final ArrayDeque<EmployeeChange> recent = new ArrayDeque<>();
+    private final Map<Object, Consumer<EmployeeChange>> subscribers = new ConcurrentHashMap<>();
+    private volatile long seq;
+
+    private ChangeFeed() {
+    }
+
+    public static ChangeFeed getInstance() {
+        return INSTANCE;
+    }
+
+    public String getEpoch() {
+        return epoch;
+    }
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public synchronized void publish(EmployeeChange.Type type, int employeeId, Map<String, Object> fields) {
+        EmployeeChange change = new EmployeeChange(seq + 1, type, employeeId, fields);
+        seq = change.getSeq();
+        recent.addLast(change);
+        if (recent.size() > capacity) recent.removeFirst();
+        for (Consumer<EmployeeChange> subscriber : subscribers.values()) {
+            try {
+                subscriber.accept(change);
+            } catch (RuntimeException e) {
+                logger.error("Change subscriber failed", e);
+            }
+        }
+    }
+
+    // Returns the changes after the given sequence, or null when they have already left the buffer
+    // and the subscriber has to reload. Subscribing and replaying happen under the same lock so no
+    // change published in between is lost.
+    public synchronized List<EmployeeChange> subscribe(Object key, Consumer<EmployeeChange> subscriber, Long since) {
+        subscribers.put(key, subscriber);
+        if (since == null || since >= seq) return List.of();
+        if (recent.isEmpty() || recent.peekFirst().getSeq() > since + 1) return null;
+        List<EmployeeChange> backlog = new ArrayList<>();
+        for (EmployeeChange change : recent) {
+            if (change.getSeq() > since) backlog.add(change);
+        }
+        return backlog;
+    }
+
+    public void unsubscribe(Object key) {
+        subscribers.remove(key);
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+}
@@ -0,0 +1,226 @@
+package com.EMS.events;
+
+import com.EMS.JacksonConfig;
+import com.EMS.util.TokenCache;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.Endpoint;
+import jakarta.websocket.EndpointConfig;
+import jakarta.websocket.Session;
+import jakarta.websocket.server.ServerEndpointConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+public class ChangeSocket extends Endpoint {
+
+    public static final String PATH = "/ws/employees";
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeSocket.class);
+    private static final int MAX_PENDING = Integer.getInteger("ems.ws.maxPending", 500);
+    private static final long FLUSH_MS = Long.getLong("ems.ws.flushMs", 100L);
+    private static final long SEND_TIMEOUT_MS = Long.getLong("ems.ws.sendTimeoutMs", 10000L);
+    private static final Set<Channel> DIRTY = ConcurrentHashMap.newKeySet();
+    private static ScheduledExecutorService flusher;
+
+    private final ChangeFeed feed = ChangeFeed.getInstance();
+
+    public static ServerEndpointConfig config() {
+        return ServerEndpointConfig.Builder.create(ChangeSocket.class, PATH).build();
+    }
+
+    public static synchronized void start() {
+        if (flusher != null) return;
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ws-change-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(ChangeSocket::flushAll, FLUSH_MS, FLUSH_MS, TimeUnit.MILLISECONDS);
+    }
+
+    public static synchronized void stop() {
+        if (flusher != null) flusher.shutdownNow();
+        flusher = null;
+    }
+
+    @Override
+    public void onOpen(Session session, EndpointConfig config) {
+        Map<String, List<String>> params = session.getRequestParameterMap();
+        TokenCache.AuthenticatedUser user = SocketTickets.getInstance().redeem(param(params, "ticket"));
+        if (user == null) {
+            close(session, new CloseReason(CloseReason.CloseCodes.VIOLATED_POLICY, "Unauthorized"));
+            return;
+        }
+        session.getAsyncRemote().setSendTimeout(SEND_TIMEOUT_MS);
+
+        Long since = null;
+        if (feed.getEpoch().equals(param(params, "epoch"))) {
+            try {
+                since = Long.valueOf(param(params, "since"));
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        boolean resuming = param(params, "since") != null;
+        Channel channel = new Channel(session);
+        session.getUserProperties().put(Channel.class.getName(), channel);
+        // The socket outlives no token: it is closed when the token it was opened with expires.
+        channel.expiry = scheduleExpiry(session, user.getExpiresAt());
+        List<EmployeeChange> backlog = feed.subscribe(session.getId(), channel::offer, since);
+        if (backlog == null || (resuming && since == null)) {
+            channel.requireReset();
+        } else {
+            for (EmployeeChange change : backlog) channel.offer(change);
+        }
+        send(session, envelope("hello"));
+        channel.sent();
+    }
+
+    @Override
+    public void onClose(Session session, CloseReason closeReason) {
+        feed.unsubscribe(session.getId());
+        Object value = session.getUserProperties().get(Channel.class.getName());
+        if (value instanceof Channel channel) {
+            DIRTY.remove(channel);
+            if (channel.expiry != null) channel.expiry.cancel(false);
+        }
+    }
+
+    @Override
+    public void onError(Session session, Throwable error) {
+        logger.debug("WebSocket error on session {}", session.getId(), error);
+    }
+
+    private static void flushAll() {
+        for (Channel channel : DIRTY) {
+            DIRTY.remove(channel);
+            try {
+                channel.flush();
+            } catch (RuntimeException e) {
+                logger.warn("Failed to flush changes to session {}", channel.session.getId(), e);
+            }
+        }
+    }
+
+    private static synchronized ScheduledFuture<?> scheduleExpiry(Session session, long expiresAt) {
+        long delay = Math.max(0, expiresAt - System.currentTimeMillis());
+        Runnable expire = () -> close(session, new CloseReason(CloseReason.CloseCodes.VIOLATED_POLICY, "Token expired"));
+        if (flusher == null) {
+            if (delay == 0) expire.run();
+            return null;
+        }
+        return flusher.schedule(expire, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private static String param(Map<String, List<String>> params, String name) {
+        List<String> values = params.get(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    private static Map<String, Object> envelope(String type) {
+        ChangeFeed feed = ChangeFeed.getInstance();
+        Map<String, Object> message = new LinkedHashMap<>();
+        message.put("type", type);
+        message.put("epoch", feed.getEpoch());
+        message.put("seq", feed.getSeq());
+        return message;
+    }
+
+    private static void send(Session session, Map<String, Object> message) {
+        try {
+            session.getBasicRemote().sendText(JacksonConfig.getMapper().writeValueAsString(message));
+        } catch (IOException e) {
+            close(session, new CloseReason(CloseReason.CloseCodes.UNEXPECTED_CONDITION, "Send failed"));
+        }
+    }
+
+    private static void close(Session session, CloseReason reason) {
+        try {
+            session.close(reason);
+        } catch (IOException ignored) {
+        }
+    }
+
+    // Changes for the same employee are merged while a client is busy, and a client that falls more
+    // than MAX_PENDING employees behind is told to reload instead of being buffered indefinitely.
+    private static class Channel {
+
+        private final Session session;
+        private final LinkedHashMap<Integer, EmployeeChange> pending = new LinkedHashMap<>();
+        private volatile ScheduledFuture<?> expiry;
+        private boolean sending = true;
+        private boolean reset;
+
+        Channel(Session session) {
+            this.session = session;
+        }
+
+        synchronized void offer(EmployeeChange change) {
+            if (!reset) {
+                pending.merge(change.getId(), change, EmployeeChange::mergeWith);
+                if (pending.size() > MAX_PENDING) {
+                    pending.clear();
+                    reset = true;
+                }
+            }
+            if (!sending) DIRTY.add(this);
+        }
+
+        synchronized void requireReset() {
+            pending.clear();
+            reset = true;
+            if (!sending) DIRTY.add(this);
+        }
+
+        void flush() {
+            Map<String, Object> message;
+            synchronized (this) {
+                if (sending || !session.isOpen() || (!reset && pending.isEmpty())) return;
+                if (reset) {
+                    message = envelope("reset");
+                    reset = false;
+                } else {
+                    message = envelope("changes");
+                    List<EmployeeChange> changes = new ArrayList<>(pending.values());
+                    long last = 0;
+                    for (EmployeeChange change : changes) last = Math.max(last, change.getSeq());
+                    message.put("seq", last);
+                    message.put("changes", changes);
+                    pending.clear();
+                }
+                sending = true;
+            }
+            String text;
+            try {
+                text = JacksonConfig.getMapper().writeValueAsString(message);
+            } catch (JsonProcessingException e) {
+                logger.error("Could not serialise change message", e);
+                sent();
+                return;
+            }
+            session.getAsyncRemote().sendText(text, result -> {
+                if (!result.isOK()) {
+                    close(session, new CloseReason(CloseReason.CloseCodes.TRY_AGAIN_LATER, "Consumer too slow"));
+                    return;
+                }
+                sent();
+            });
+        }
+
+        synchronized void sent() {
+            sending = false;
+            if (reset || !pending.isEmpty()) DIRTY.add(this);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.EMS.events;
+
+import com.EMS.entity.Department;
+import com.EMS.entity.Employee;
+import com.EMS.entity.Position;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+public class EmployeeChange {
+
+    public enum Type { CREATED, UPDATED, ARCHIVED }
+
+    private final long seq;
+    private final Type type;
+    private final int id;
+    private final Map<String, Object> fields;
+
+    public EmployeeChange(long seq, Type type, int id, Map<String, Object> fields) {
+        this.seq = seq;
+        this.type = type;
+        this.id = id;
+        this.fields = fields;
+    }
+
+    public static Map<String, Object> fieldsOf(Employee employee) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("firstName", employee.getFirstName());
+        fields.put("lastName", employee.getLastName());
+        fields.put("email", employee.getEmail());
+        fields.put("phone", employee.getPhone());
+        fields.put("department", employee.getDepartment());
+        fields.put("position", employee.getPosition());
+        fields.put("hireDate", employee.getHireDate());
+        fields.put("salary", employee.getSalary());
+        fields.put("updatedAt", employee.getUpdatedAt());
+        return fields;
+    }
+
+    public static Map<String, Object> diff(Map<String, Object> before, Map<String, Object> after) {
+        Map<String, Object> changed = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> entry : after.entrySet()) {
+            if (!sameValue(before.get(entry.getKey()), entry.getValue())) changed.put(entry.getKey(), entry.getValue());
+        }
+        return changed;
+    }
+
+    private static boolean sameValue(Object a, Object b) {
+        if (a instanceof BigDecimal x && b instanceof BigDecimal y) return x.compareTo(y) == 0;
+        if (a instanceof Department x && b instanceof Department y)
+            return Objects.equals(x.getDepartmentId(), y.getDepartmentId());
+        if (a instanceof Position x && b instanceof Position y)
+            return Objects.equals(x.getPositionId(), y.getPositionId());
+        return Objects.equals(a, b);
+    }
+
+    EmployeeChange mergeWith(EmployeeChange newer) {
+        if (newer.type == Type.ARCHIVED || type == Type.ARCHIVED) return newer;
+        Map<String, Object> merged = new LinkedHashMap<>(fields);
+        merged.putAll(newer.fields);
+        return new EmployeeChange(newer.seq, type == Type.CREATED ? Type.CREATED : newer.type, id, merged);
+    }
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public Map<String, Object> getFields() {
+        return fields;
+    }
+}
@@ -0,0 +1,51 @@
+package com.EMS.events;
+
+import com.EMS.util.TokenCache;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// One-time tickets for opening the change WebSocket. The JWT itself never goes into the socket URL,
+// where proxies and access logs would record it; the ticket carries the token's identity and expiry.
+public class SocketTickets {
+
+    private static final long TTL_MS = Long.getLong("ems.ws.ticketSeconds", 30L) * 1000;
+    private static final SocketTickets INSTANCE = new SocketTickets();
+
+    private final SecureRandom random = new SecureRandom();
+    private final Map<String, Ticket> tickets = new ConcurrentHashMap<>();
+
+    private SocketTickets() {
+    }
+
+    public static SocketTickets getInstance() {
+        return INSTANCE;
+    }
+
+    public String issue(TokenCache.AuthenticatedUser user) {
+        long now = System.currentTimeMillis();
+        tickets.values().removeIf(ticket -> ticket.validUntil < now);
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String id = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        tickets.put(id, new Ticket(user, now + TTL_MS));
+        return id;
+    }
+
+    public long getTtlSeconds() {
+        return TTL_MS / 1000;
+    }
+
+    public TokenCache.AuthenticatedUser redeem(String id) {
+        if (id == null) return null;
+        Ticket ticket = tickets.remove(id);
+        long now = System.currentTimeMillis();
+        if (ticket == null || ticket.validUntil < now || ticket.user.getExpiresAt() <= now) return null;
+        return ticket.user;
+    }
+
+    private record Ticket(TokenCache.AuthenticatedUser user, long validUntil) {
+    }
+}
@@ -0,0 +1,41 @@
+package com.EMS.metrics;
+
+import com.EMS.util.LatencyHistogram;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class EndpointMetrics {
+
+    private final String method;
+    private final String path;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder[] statusClasses = new LongAdder[6];
+
+    EndpointMetrics(String method, String path) {
+        this.method = method;
+        this.path = path;
+        for (int i = 0; i < statusClasses.length; i++) statusClasses[i] = new LongAdder();
+    }
+
+    public void record(long nanos, int status) {
+        latency.recordNanos(nanos);
+        int statusClass = status / 100;
+        statusClasses[statusClass >= 1 && statusClass <= 5 ? statusClass : 0].increment();
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public LatencyHistogram.Snapshot getLatency() {
+        return latency.snapshot();
+    }
+
+    public long getResponses(int statusClass) {
+        return statusClasses[statusClass].sum();
+    }
+}
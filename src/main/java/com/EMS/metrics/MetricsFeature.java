@@ -0,0 +1,47 @@
+package com.EMS.metrics;
+
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.DynamicFeature;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.FeatureContext;
+import jakarta.ws.rs.ext.Provider;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+
+@Provider
+public class MetricsFeature implements DynamicFeature {
+
+    // Runs before authentication on the way in and after everything else on the way out.
+    private static final int PRIORITY = Priorities.AUTHENTICATION - 100;
+
+    @Override
+    public void configure(ResourceInfo resourceInfo, FeatureContext context) {
+        if (!resourceInfo.getResourceClass().getPackageName().startsWith("com.EMS")) return;
+        Method method = resourceInfo.getResourceMethod();
+        String httpMethod = httpMethod(method);
+        if (httpMethod == null) return;
+        String path = join(resourceInfo.getResourceClass().getAnnotation(Path.class), method.getAnnotation(Path.class));
+        context.register(new MetricsFilter(RequestMetrics.getInstance().endpoint(httpMethod, path)), PRIORITY);
+    }
+
+    private static String httpMethod(Method method) {
+        for (Annotation annotation : method.getAnnotations()) {
+            HttpMethod httpMethod = annotation.annotationType().getAnnotation(HttpMethod.class);
+            if (httpMethod != null) return httpMethod.value();
+        }
+        return null;
+    }
+
+    private static String join(Path classPath, Path methodPath) {
+        String path = (classPath != null ? trim(classPath.value()) : "") + (methodPath != null ? trim(methodPath.value()) : "");
+        return path.isEmpty() ? "/" : path;
+    }
+
+    private static String trim(String segment) {
+        String value = segment.startsWith("/") ? segment : "/" + segment;
+        return value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+    }
+}
@@ -0,0 +1,30 @@
+package com.EMS.metrics;
+
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+
+// One instance per resource method (see MetricsFeature), so recording needs no lookup by path.
+public class MetricsFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    private static final String START = MetricsFilter.class.getName() + ".start";
+
+    private final EndpointMetrics metrics;
+
+    public MetricsFilter(EndpointMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request) {
+        request.setProperty(START, System.nanoTime());
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+        Object start = request.getProperty(START);
+        if (start == null) return;
+        metrics.record(System.nanoTime() - (Long) start, response.getStatus());
+    }
+}
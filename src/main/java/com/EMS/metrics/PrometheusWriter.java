@@ -0,0 +1,222 @@
+package com.EMS.metrics;
+
+import com.EMS.compression.CompressionStats;
+import com.EMS.compression.Encoding;
+import com.EMS.util.DbBulkhead;
+import com.EMS.util.JdbcLimiter;
+import com.EMS.util.LatencyHistogram;
+import com.EMS.util.PoolMetrics;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryUsage;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.ThreadMXBean;
+import java.math.BigDecimal;
+import java.util.Map;
+
+public class PrometheusWriter {
+
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final StringBuilder out = new StringBuilder(16 * 1024);
+
+    public String write() {
+        writeRequests();
+        writeCompression();
+        writePool();
+        writeJvm();
+        return out.toString();
+    }
+
+    private void writeRequests() {
+        header("ems_http_request_duration_seconds", "histogram",
+                "Time from request matching to response, per resource method.");
+        for (EndpointMetrics endpoint : RequestMetrics.getInstance().getEndpoints()) {
+            histogram("ems_http_request_duration_seconds", endpoint.getLatency(),
+                    "method", endpoint.getMethod(), "path", endpoint.getPath());
+        }
+        header("ems_http_responses_total", "counter", "Responses per resource method and status class.");
+        for (EndpointMetrics endpoint : RequestMetrics.getInstance().getEndpoints()) {
+            for (int statusClass = 1; statusClass <= 5; statusClass++) {
+                long count = endpoint.getResponses(statusClass);
+                if (count == 0) continue;
+                sample("ems_http_responses_total", count,
+                        "method", endpoint.getMethod(), "path", endpoint.getPath(), "status", statusClass + "xx");
+            }
+        }
+    }
+
+    private void writeCompression() {
+        header("ems_compression_responses_total", "counter", "Compressed responses by content coding.");
+        for (Encoding encoding : Encoding.values()) {
+            sample("ems_compression_responses_total", encoding.getResponses(), "encoding", encoding.getToken());
+        }
+        header("ems_compression_skipped_total", "counter", "Compressible responses sent uncompressed, by reason.");
+        CompressionStats stats = CompressionStats.getInstance();
+        sample("ems_compression_skipped_total", stats.getSkippedSmall(), "reason", "below_min_bytes");
+        sample("ems_compression_skipped_total", stats.getSkippedNotAccepted(), "reason", "not_accepted");
+        header("ems_compression_input_bytes_total", "counter", "Entity bytes before compression.");
+        for (Encoding encoding : Encoding.values()) {
+            sample("ems_compression_input_bytes_total", encoding.getBytesIn(), "encoding", encoding.getToken());
+        }
+        header("ems_compression_output_bytes_total", "counter", "Entity bytes sent after compression.");
+        for (Encoding encoding : Encoding.values()) {
+            sample("ems_compression_output_bytes_total", encoding.getBytesOut(), "encoding", encoding.getToken());
+        }
+        header("ems_compression_seconds_total", "counter", "Time spent compressing, excluding socket writes.");
+        for (Encoding encoding : Encoding.values()) {
+            sample("ems_compression_seconds_total", encoding.getNanos() / 1e9, "encoding", encoding.getToken());
+        }
+        header("ems_compression_pool_idle", "gauge", "Compressors idle in the pool.");
+        for (Encoding encoding : Encoding.values()) {
+            sample("ems_compression_pool_idle", encoding.getPoolIdle(), "encoding", encoding.getToken());
+        }
+        header("ems_compression_pool_created_total", "counter", "Compressors created because the pool was empty.");
+        for (Encoding encoding : Encoding.values()) {
+            sample("ems_compression_pool_created_total", encoding.getPoolCreated(), "encoding", encoding.getToken());
+        }
+    }
+
+    private void writePool() {
+        PoolMetrics pool = PoolMetrics.getInstance();
+        gauge("ems_db_pool_connections_active", "Connections currently borrowed.", pool.getActive());
+        gauge("ems_db_pool_connections_idle", "Connections idle in the pool.", pool.getIdle());
+        gauge("ems_db_pool_connections_max", "Configured maximum pool size.", pool.getMax());
+        gauge("ems_db_pool_pending_threads", "Threads waiting for a connection.", pool.getPending());
+        header("ems_db_pool_timeouts_total", "counter", "Connection acquisitions that timed out.");
+        sample("ems_db_pool_timeouts_total", pool.getTimeouts());
+        header("ems_db_pool_acquire_seconds", "histogram", "Time to borrow a connection from the pool.");
+        histogram("ems_db_pool_acquire_seconds", pool.getAcquireTimes());
+        header("ems_db_pool_usage_seconds", "histogram", "Time a connection was held before being returned.");
+        histogram("ems_db_pool_usage_seconds", pool.getUsageTimes());
+
+        JdbcLimiter limiter = JdbcLimiter.getInstance();
+        gauge("ems_db_limiter_permits", "JDBC concurrency limit.", limiter.getPermits());
+        gauge("ems_db_limiter_available", "Unused JDBC permits.", limiter.getAvailable());
+        gauge("ems_db_limiter_queued", "Threads waiting for a JDBC permit.", limiter.getQueued());
+
+        Map<String, Object> lanes = DbBulkhead.getInstance().snapshot();
+        String[][] bulkheadMetrics = {
+                {"active", "gauge", "Bulkhead workers running a request."},
+                {"queued", "gauge", "Requests waiting in the bulkhead queue."},
+                {"rejected", "counter", "Requests rejected with 503 because the queue was full."},
+                {"timedOut", "counter", "Requests cancelled at the bulkhead deadline."},
+                {"databaseBusy", "counter", "Requests answered 503 because no JDBC permit freed up in time."}};
+        for (String[] metric : bulkheadMetrics) {
+            String name = "ems_bulkhead_" + snake(metric[0]) + (metric[1].equals("counter") ? "_total" : "");
+            header(name, metric[1], metric[2]);
+            for (Map.Entry<String, Object> lane : lanes.entrySet()) {
+                if (!(lane.getValue() instanceof Map<?, ?> values)) continue;
+                Object value = values.get(metric[0]);
+                if (value instanceof Number number) sample(name, number.doubleValue(), "lane", lane.getKey());
+            }
+        }
+    }
+
+    private void writeJvm() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        header("jvm_memory_used_bytes", "gauge", "Used memory by area.");
+        memoryArea("jvm_memory_used_bytes", memory.getHeapMemoryUsage().getUsed(), memory.getNonHeapMemoryUsage().getUsed());
+        header("jvm_memory_committed_bytes", "gauge", "Committed memory by area.");
+        memoryArea("jvm_memory_committed_bytes", memory.getHeapMemoryUsage().getCommitted(),
+                memory.getNonHeapMemoryUsage().getCommitted());
+        header("jvm_memory_max_bytes", "gauge", "Maximum memory by area (-1 if undefined).");
+        memoryArea("jvm_memory_max_bytes", memory.getHeapMemoryUsage().getMax(), memory.getNonHeapMemoryUsage().getMax());
+
+        header("jvm_memory_pool_used_bytes", "gauge", "Used memory by pool.");
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            MemoryUsage usage = pool.getUsage();
+            if (usage != null) sample("jvm_memory_pool_used_bytes", usage.getUsed(), "pool", pool.getName());
+        }
+
+        header("jvm_gc_collections_total", "counter", "Garbage collections by collector.");
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            sample("jvm_gc_collections_total", Math.max(0, gc.getCollectionCount()), "gc", gc.getName());
+        }
+        header("jvm_gc_collection_seconds_total", "counter", "Time spent in garbage collection by collector.");
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            sample("jvm_gc_collection_seconds_total", Math.max(0, gc.getCollectionTime()) / 1000.0, "gc", gc.getName());
+        }
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        gauge("jvm_threads_live", "Live platform threads.", threads.getThreadCount());
+        gauge("jvm_threads_daemon", "Live daemon threads.", threads.getDaemonThreadCount());
+        gauge("jvm_threads_peak", "Peak live platform threads.", threads.getPeakThreadCount());
+        gauge("jvm_classes_loaded", "Currently loaded classes.", ManagementFactory.getClassLoadingMXBean().getLoadedClassCount());
+
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        gauge("process_cpu_count", "Available processors.", os.getAvailableProcessors());
+        gauge("system_load_average_1m", "System load average over the last minute.", os.getSystemLoadAverage());
+        if (os instanceof com.sun.management.OperatingSystemMXBean sun) {
+            header("process_cpu_seconds_total", "counter", "CPU time used by the process.");
+            sample("process_cpu_seconds_total", sun.getProcessCpuTime() / 1e9);
+        }
+        gauge("process_uptime_seconds", "JVM uptime.", ManagementFactory.getRuntimeMXBean().getUptime() / 1000.0);
+    }
+
+    private void memoryArea(String name, long heap, long nonHeap) {
+        sample(name, heap, "area", "heap");
+        sample(name, nonHeap, "area", "nonheap");
+    }
+
+    private void gauge(String name, String help, double value) {
+        header(name, "gauge", help);
+        sample(name, value);
+    }
+
+    private void header(String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private void histogram(String name, LatencyHistogram.Snapshot snapshot, String... labels) {
+        String[] withLe = new String[labels.length + 2];
+        System.arraycopy(labels, 0, withLe, 0, labels.length);
+        withLe[labels.length] = "le";
+        for (int i = 0; i < snapshot.size(); i++) {
+            double bound = snapshot.upperBoundMillis(i);
+            withLe[labels.length + 1] = Double.isInfinite(bound) ? "+Inf"
+                    : BigDecimal.valueOf(bound).movePointLeft(3).stripTrailingZeros().toPlainString();
+            sample(name + "_bucket", snapshot.cumulativeCount(i), withLe);
+        }
+        sample(name + "_sum", snapshot.getSumMillis() / 1000.0, labels);
+        sample(name + "_count", snapshot.getCount(), labels);
+    }
+
+    private void sample(String name, double value, String... labels) {
+        out.append(name);
+        if (labels.length > 0) {
+            out.append('{');
+            for (int i = 0; i < labels.length; i += 2) {
+                if (i > 0) out.append(',');
+                out.append(labels[i]).append("=\"");
+                escape(labels[i + 1]);
+                out.append('"');
+            }
+            out.append('}');
+        }
+        out.append(' ').append(number(value)).append('\n');
+    }
+
+    private void escape(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' || c == '"') out.append('\\').append(c);
+            else if (c == '\n') out.append("\\n");
+            else out.append(c);
+        }
+    }
+
+    private static String number(double value) {
+        if (Double.isNaN(value)) return "NaN";
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) return Long.toString((long) value);
+        return Double.toString(value);
+    }
+
+    private static String snake(String camel) {
+        return camel.replaceAll("([a-z])([A-Z])", "$1_$2").toLowerCase();
+    }
+}
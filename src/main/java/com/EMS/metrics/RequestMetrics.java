@@ -0,0 +1,32 @@
+package com.EMS.metrics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class RequestMetrics {
+
+    private static final RequestMetrics INSTANCE = new RequestMetrics();
+
+    private final Map<String, EndpointMetrics> endpoints = new ConcurrentHashMap<>();
+
+    private RequestMetrics() {
+    }
+
+    public static RequestMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    public EndpointMetrics endpoint(String method, String path) {
+        return endpoints.computeIfAbsent(method + " " + path, key -> new EndpointMetrics(method, path));
+    }
+
+    public Collection<EndpointMetrics> getEndpoints() {
+        List<EndpointMetrics> sorted = new ArrayList<>(endpoints.values());
+        sorted.sort(Comparator.comparing(EndpointMetrics::getPath).thenComparing(EndpointMetrics::getMethod));
+        return sorted;
+    }
+}
@@ -0,0 +1,228 @@
+package com.EMS.metrics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+// JDBC proxies feeding SqlMetrics. Each connection, statement and result set is confined to the
+// thread running the unit of work, so the handlers keep plain mutable state.
+class SqlInstrumentation {
+
+    private static final ClassLoader LOADER = SqlInstrumentation.class.getClassLoader();
+
+    private SqlInstrumentation() {
+    }
+
+    static Connection connection(Connection target, long acquireNanos) {
+        return (Connection) Proxy.newProxyInstance(LOADER, new Class<?>[]{Connection.class},
+                new ConnectionHandler(target, acquireNanos));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+        private long acquireNanos;
+
+        ConnectionHandler(Connection target, long acquireNanos) {
+            this.target = target;
+            this.acquireNanos = acquireNanos;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = SqlInstrumentation.invoke(target, method, args);
+            if (!(result instanceof Statement statement)) return result;
+            Class<?> type = switch (method.getName()) {
+                case "prepareStatement" -> PreparedStatement.class;
+                case "prepareCall" -> CallableStatement.class;
+                default -> Statement.class;
+            };
+            String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+            StatementHandler handler = new StatementHandler(statement, sql, acquireNanos);
+            acquireNanos = 0;
+            return Proxy.newProxyInstance(LOADER, new Class<?>[]{type}, handler);
+        }
+    }
+
+    private static class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final List<String> binds = new ArrayList<>();
+        private String sql;
+        private long acquireNanos;
+        private int batches;
+        private Execution current;
+
+        StatementHandler(Statement target, String sql, long acquireNanos) {
+            this.target = target;
+            this.sql = sql;
+            this.acquireNanos = acquireNanos;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) return execute(method, args);
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                bind(index, name, args[1]);
+            } else {
+                switch (name) {
+                    case "addBatch" -> {
+                        if (args != null && sql == null) sql = (String) args[0];
+                        batches++;
+                    }
+                    case "clearBatch" -> batches = 0;
+                    case "clearParameters" -> binds.clear();
+                    case "close" -> finish();
+                    case "getResultSet" -> {
+                        Object result = SqlInstrumentation.invoke(target, method, args);
+                        return result instanceof ResultSet rs && current != null ? wrap(rs, current) : result;
+                    }
+                    default -> {
+                    }
+                }
+            }
+            return SqlInstrumentation.invoke(target, method, args);
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            finish();
+            String executed = args != null && args.length > 0 && args[0] instanceof String s ? s : sql;
+            Execution execution = new Execution(SqlMetrics.getInstance().shapeOf(executed), bindShape(), acquireNanos);
+            acquireNanos = 0;
+            batches = 0;
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = SqlInstrumentation.invoke(target, method, args);
+            } catch (Throwable e) {
+                execution.executeNanos = System.nanoTime() - start;
+                execution.failed = true;
+                execution.finish();
+                throw e;
+            }
+            execution.executeNanos = System.nanoTime() - start;
+            if (result instanceof ResultSet rs) {
+                current = execution;
+                return wrap(rs, execution);
+            }
+            if (Boolean.TRUE.equals(result) && method.getName().equals("execute")) {
+                current = execution;
+            } else {
+                execution.finish();
+            }
+            return result;
+        }
+
+        private void bind(int index, String setter, Object value) {
+            String type = setter.substring(3).toLowerCase(Locale.ROOT);
+            if (type.equals("object")) type = value == null ? "null" : value.getClass().getSimpleName().toLowerCase(Locale.ROOT);
+            if (value instanceof String s) type += "(" + s.length() + ")";
+            while (binds.size() < index) binds.add("?");
+            binds.set(index - 1, type);
+        }
+
+        private List<String> bindShape() {
+            if (binds.isEmpty() && batches == 0) return Collections.emptyList();
+            List<String> shape = new ArrayList<>(binds);
+            if (batches > 0) shape.add("x" + batches + " batched");
+            return shape;
+        }
+
+        private void finish() {
+            if (current != null) {
+                current.finish();
+                current = null;
+            }
+        }
+
+        private static ResultSet wrap(ResultSet target, Execution execution) {
+            return (ResultSet) Proxy.newProxyInstance(LOADER, new Class<?>[]{ResultSet.class},
+                    new ResultSetHandler(target, execution));
+        }
+    }
+
+    private static class ResultSetHandler implements InvocationHandler {
+
+        private final ResultSet target;
+        private final Execution execution;
+
+        ResultSetHandler(ResultSet target, Execution execution) {
+            this.target = target;
+            this.execution = execution;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("next")) {
+                long start = System.nanoTime();
+                Object more = SqlInstrumentation.invoke(target, method, args);
+                execution.fetchNanos += System.nanoTime() - start;
+                if (Boolean.TRUE.equals(more)) execution.rows++;
+                else execution.finish();
+                return more;
+            }
+            Object result = SqlInstrumentation.invoke(target, method, args);
+            if (name.startsWith("get") && args != null && args.length > 0) execution.bytes += sizeOf(result);
+            else if (name.equals("close")) execution.finish();
+            return result;
+        }
+
+        // Rough decoded size; enough to tell narrow lookups from wide scans.
+        private static long sizeOf(Object value) {
+            if (value == null) return 0;
+            if (value instanceof String s) return s.length();
+            if (value instanceof byte[] bytes) return bytes.length;
+            if (value instanceof BigDecimal decimal) return decimal.unscaledValue().bitLength() / 8 + 1;
+            if (value instanceof Boolean || value instanceof Byte) return 1;
+            if (value instanceof Short) return 2;
+            if (value instanceof Integer || value instanceof Float) return 4;
+            return 8;
+        }
+    }
+
+    private static class Execution {
+
+        private final String shape;
+        private final List<String> binds;
+        private final long acquireNanos;
+        private long executeNanos;
+        private long fetchNanos;
+        private long rows;
+        private long bytes;
+        private boolean failed;
+        private boolean finished;
+
+        Execution(String shape, List<String> binds, long acquireNanos) {
+            this.shape = shape;
+            this.binds = binds;
+            this.acquireNanos = acquireNanos;
+        }
+
+        void finish() {
+            if (finished) return;
+            finished = true;
+            SqlMetrics.getInstance().record(shape, binds, acquireNanos, executeNanos, fetchNanos, rows, bytes, failed);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.EMS.metrics;
+
+import com.EMS.util.LatencyHistogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+public class SqlMetrics {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlMetrics.class);
+    private static final String OTHER = "(other statements)";
+    private static final int MAX_CACHED_SQL = 10_000;
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^'\\\\]|\\\\.|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.?])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final SqlMetrics INSTANCE = new SqlMetrics();
+
+    private final boolean enabled = Boolean.parseBoolean(System.getProperty("ems.sql.instrument", "true"));
+    private final long slowNanos = Long.getLong("ems.sql.slowMs", 200L) * 1_000_000;
+    private final int maxShapes = Integer.getInteger("ems.sql.maxShapes", 500);
+    private final Map<String, String> shapes = new ConcurrentHashMap<>();
+    private final Map<String, StatementStats> stats = new ConcurrentHashMap<>();
+
+    private SqlMetrics() {
+    }
+
+    public static SqlMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    public Connection instrument(Connection connection, long acquireNanos) {
+        if (!enabled) return connection;
+        return SqlInstrumentation.connection(connection, acquireNanos);
+    }
+
+    public long getSlowThresholdMillis() {
+        return slowNanos / 1_000_000;
+    }
+
+    String shapeOf(String sql) {
+        if (sql == null) return OTHER;
+        String shape = shapes.get(sql);
+        if (shape != null) return shape;
+        shape = normalize(sql);
+        if (shapes.size() < MAX_CACHED_SQL) shapes.put(sql, shape);
+        return shape;
+    }
+
+    static String normalize(String sql) {
+        String shape = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        shape = STRING_LITERAL.matcher(shape).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        return IN_LIST.matcher(shape).replaceAll("(?, ...)");
+    }
+
+    void record(String shape, List<String> binds, long acquireNanos, long executeNanos, long fetchNanos,
+                long rows, long bytes, boolean failed) {
+        StatementStats entry = stats.get(shape);
+        if (entry == null) {
+            String key = stats.size() < maxShapes ? shape : OTHER;
+            entry = stats.computeIfAbsent(key, StatementStats::new);
+        }
+        long elapsed = executeNanos + fetchNanos;
+        entry.record(acquireNanos, elapsed, rows, bytes, failed);
+        if (elapsed >= slowNanos) {
+            logger.warn("Slow SQL {} ms (acquire {} ms, execute {} ms, fetch {} ms, {} rows, ~{} bytes): {} binds={}",
+                    millis(elapsed), millis(acquireNanos), millis(executeNanos), millis(fetchNanos),
+                    rows, bytes, shape, binds);
+        }
+    }
+
+    public List<Map<String, Object>> top(String sort, int limit) {
+        Comparator<StatementStats> order = switch (sort) {
+            case "count" -> Comparator.comparingLong(s -> s.count.sum());
+            case "mean" -> Comparator.comparingDouble(StatementStats::meanNanos);
+            case "max" -> Comparator.comparingLong(s -> s.maxNanos.get());
+            case "rows" -> Comparator.comparingLong(s -> s.rows.sum());
+            case "bytes" -> Comparator.comparingLong(s -> s.bytes.sum());
+            case "acquire" -> Comparator.comparingLong(s -> s.acquireNanos.sum());
+            case "total" -> Comparator.comparingLong(s -> s.totalNanos.sum());
+            default -> throw new IllegalArgumentException(
+                    "sort must be one of total, count, mean, max, rows, bytes, acquire.");
+        };
+        List<StatementStats> sorted = new ArrayList<>(stats.values());
+        sorted.sort(order.reversed());
+        List<Map<String, Object>> result = new ArrayList<>(Math.min(limit, sorted.size()));
+        for (int i = 0; i < sorted.size() && i < limit; i++) result.add(sorted.get(i).snapshot());
+        return result;
+    }
+
+    public int getShapeCount() {
+        return stats.size();
+    }
+
+    public void reset() {
+        stats.clear();
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+    private static class StatementStats {
+
+        private final String shape;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private final LongAdder acquireNanos = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        StatementStats(String shape) {
+            this.shape = shape;
+        }
+
+        void record(long acquire, long elapsed, long rowCount, long byteCount, boolean failed) {
+            count.increment();
+            if (failed) errors.increment();
+            rows.add(rowCount);
+            bytes.add(byteCount);
+            acquireNanos.add(acquire);
+            totalNanos.add(elapsed);
+            maxNanos.accumulate(elapsed);
+            latency.recordNanos(elapsed);
+        }
+
+        double meanNanos() {
+            long n = count.sum();
+            return n == 0 ? 0 : (double) totalNanos.sum() / n;
+        }
+
+        Map<String, Object> snapshot() {
+            long n = count.sum();
+            LatencyHistogram.Snapshot histogram = latency.snapshot();
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("statement", shape);
+            result.put("count", n);
+            result.put("errors", errors.sum());
+            result.put("totalMillis", millis(totalNanos.sum()));
+            result.put("meanMillis", millis((long) meanNanos()));
+            result.put("p95Millis", histogram.getP95Millis());
+            result.put("maxMillis", millis(maxNanos.get()));
+            result.put("acquireMillis", millis(acquireNanos.sum()));
+            result.put("rows", rows.sum());
+            result.put("rowsPerCall", n == 0 ? 0 : rows.sum() / n);
+            result.put("bytes", bytes.sum());
+            return result;
+        }
+    }
+}
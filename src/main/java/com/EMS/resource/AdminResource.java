@@ -0,0 +1,71 @@
+package com.EMS.resource;
+
+import com.EMS.auth.Secured;
+import com.EMS.metrics.SqlMetrics;
+import com.EMS.util.ApiResponse;
+import com.EMS.util.DbBulkhead;
+import com.EMS.util.JdbcLimiter;
+import com.EMS.util.PoolMetrics;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Path("/admin")
+@Produces(MediaType.APPLICATION_JSON)
+@Secured
+@RolesAllowed("ADMIN")
+public class AdminResource {
+
+    @GET
+    @Path("/pool")
+    public Response getPoolStats() {
+        CacheControl noStore = new CacheControl();
+        noStore.setNoStore(true);
+        Map<String, Object> stats = PoolMetrics.getInstance().snapshot();
+        JdbcLimiter limiter = JdbcLimiter.getInstance();
+        stats.put("limiter", Map.of("permits", limiter.getPermits(),
+                "available", limiter.getAvailable(), "queued", limiter.getQueued()));
+        stats.put("bulkhead", DbBulkhead.getInstance().snapshot());
+        return Response.ok(ApiResponse.success(stats)).cacheControl(noStore).build();
+    }
+
+    @GET
+    @Path("/sql")
+    public Response getSqlStats(@QueryParam("sort") @DefaultValue("total") String sort,
+                                @QueryParam("limit") @DefaultValue("20") int limit) {
+        if (limit < 1 || limit > 500) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(ApiResponse.error("limit must be between 1 and 500.")).build();
+        }
+        SqlMetrics sqlMetrics = SqlMetrics.getInstance();
+        try {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("slowThresholdMs", sqlMetrics.getSlowThresholdMillis());
+            stats.put("shapes", sqlMetrics.getShapeCount());
+            stats.put("statements", sqlMetrics.top(sort, limit));
+            CacheControl noStore = new CacheControl();
+            noStore.setNoStore(true);
+            return Response.ok(ApiResponse.success(stats)).cacheControl(noStore).build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(ApiResponse.error(e.getMessage())).build();
+        }
+    }
+
+    @DELETE
+    @Path("/sql")
+    public Response resetSqlStats() {
+        SqlMetrics.getInstance().reset();
+        return Response.ok(ApiResponse.success("SQL statistics cleared.", null)).build();
+    }
+}
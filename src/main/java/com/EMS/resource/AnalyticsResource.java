@@ -0,0 +1,77 @@
+package com.EMS.resource;
+
+import com.EMS.auth.Secured;
+import com.EMS.service.AnalyticsService;
+import com.EMS.util.ApiResponse;
+import com.EMS.util.DbBulkhead;
+import com.EMS.util.DbBulkhead.Lane;
+import com.EMS.util.ETags;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.Suspended;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+
+@Path("/analytics")
+@Produces(MediaType.APPLICATION_JSON)
+@Secured
+@RolesAllowed({"ADMIN", "HR"})
+public class AnalyticsResource {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsResource.class);
+    private final AnalyticsService analyticsService = new AnalyticsService();
+    private final DbBulkhead bulkhead = DbBulkhead.getInstance();
+
+    @GET
+    @Path("/breakdown")
+    public void getBreakdown(@QueryParam("by") String by, @Context Request request,
+                             @Suspended AsyncResponse async) {
+        bulkhead.submit(Lane.READ, async, () -> {
+            try {
+                EntityTag tag = ETags.collection("breakdown-" + (by != null ? by : "all"),
+                        analyticsService.getVersion());
+                Response.ResponseBuilder notModified = request.evaluatePreconditions(tag);
+                if (notModified != null) return notModified.cacheControl(ETags.revalidate()).build();
+                return Response.ok(ApiResponse.success(analyticsService.getBreakdown(by)))
+                        .tag(tag).cacheControl(ETags.revalidate()).build();
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(ApiResponse.error(e.getMessage())).build();
+            } catch (Exception e) {
+                logger.error("Error building payroll breakdown", e);
+                return Response.serverError()
+                        .entity(ApiResponse.error("Failed to build breakdown.")).build();
+            }
+        });
+    }
+
+    @POST
+    @Path("/verify")
+    @RolesAllowed("ADMIN")
+    public void verify(@Suspended AsyncResponse async) {
+        bulkhead.submit(Lane.WRITE, async, () -> {
+            try {
+                boolean consistent = analyticsService.verify();
+                return Response.ok(ApiResponse.success(consistent
+                        ? "Aggregates match the database." : "Aggregates were rebuilt from the database.",
+                        Map.of("consistent", consistent))).build();
+            } catch (Exception e) {
+                logger.error("Error verifying payroll aggregates", e);
+                return Response.serverError()
+                        .entity(ApiResponse.error("Failed to verify aggregates.")).build();
+            }
+        });
+    }
+}
@@ -0,0 +1,139 @@
+package com.EMS.resource;
+
+import com.EMS.JacksonConfig;
+import com.EMS.entity.Employee;
+import com.EMS.service.EmployeeImport;
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Function;
+
+class EmployeeImportReader implements Iterator<EmployeeImport.Row> {
+
+    enum Format {NDJSON, CSV}
+
+    private static final Set<String> CSV_COLUMNS = Set.of(
+            "firstName", "lastName", "email", "phone", "departmentId", "positionId", "hireDate", "salary");
+    private static final TypeReference<Map<String, Object>> ROW_TYPE = new TypeReference<>() {
+    };
+
+    private final BufferedReader reader;
+    private final Format format;
+    private final Function<Map<String, Object>, Employee> toEmployee;
+    private List<String> header;
+    private int lineNumber;
+    private EmployeeImport.Row next;
+
+    EmployeeImportReader(BufferedReader reader, Format format, Function<Map<String, Object>, Employee> toEmployee) {
+        this.reader = reader;
+        this.format = format;
+        this.toEmployee = toEmployee;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) next = advance();
+        return next != null;
+    }
+
+    @Override
+    public EmployeeImport.Row next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        EmployeeImport.Row row = next;
+        next = null;
+        return row;
+    }
+
+    private EmployeeImport.Row advance() {
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) continue;
+                if (format == Format.CSV && header == null) {
+                    readHeader(line);
+                    continue;
+                }
+                return parse(line);
+            }
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void readHeader(String line) {
+        header = splitCsv(line);
+        for (String column : header) {
+            if (!CSV_COLUMNS.contains(column))
+                throw new IllegalArgumentException("Unknown CSV column '" + column + "'. Expected " + CSV_COLUMNS + ".");
+        }
+    }
+
+    private EmployeeImport.Row parse(String line) {
+        try {
+            Map<String, Object> body = format == Format.CSV
+                    ? csvRow(line)
+                    : JacksonConfig.getMapper().readValue(line, ROW_TYPE);
+            return EmployeeImport.Row.of(lineNumber, toEmployee.apply(body));
+        } catch (Exception e) {
+            String message = String.valueOf(e.getMessage());
+            int newline = message.indexOf('\n');
+            return EmployeeImport.Row.failed(lineNumber,
+                    "Invalid row: " + (newline < 0 ? message : message.substring(0, newline)));
+        }
+    }
+
+    private Map<String, Object> csvRow(String line) {
+        List<String> values = splitCsv(line);
+        if (values.size() != header.size())
+            throw new IllegalArgumentException("expected " + header.size() + " columns but found " + values.size());
+        Map<String, Object> body = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String value = values.get(i).isEmpty() ? null : values.get(i);
+            switch (header.get(i)) {
+                case "departmentId" -> body.put("department", value == null ? null : Map.of("departmentId", value));
+                case "positionId" -> body.put("position", value == null ? null : Map.of("positionId", value));
+                default -> body.put(header.get(i), value);
+            }
+        }
+        return body;
+    }
+
+    private static List<String> splitCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString().trim());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString().trim());
+        return values;
+    }
+}
@@ -1,22 +1,54 @@
 package com.EMS.resource;
 
+import com.EMS.JacksonConfig;
 import com.EMS.auth.Secured;
+import com.EMS.dao.EmployeeProjection;
+import com.EMS.dao.RowHandler;
 import com.EMS.entity.Department;
 import com.EMS.entity.Employee;
 import com.EMS.entity.PastEmployee;
 import com.EMS.entity.Position;
+import com.EMS.events.SocketTickets;
+import com.EMS.service.EmployeeImport;
 import com.EMS.service.EmployeeService;
 import com.EMS.util.ApiResponse;
+import com.EMS.util.DbBulkhead;
+import com.EMS.util.DbBulkhead.Lane;
+import com.EMS.util.ETags;
+import com.EMS.util.JwtUtil;
+import com.EMS.util.StaleChangeTokenException;
+import com.EMS.util.TokenCache;
+import com.fasterxml.jackson.core.JsonGenerator;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.Suspended;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import jakarta.ws.rs.core.Variant;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Path("/employees")
 @Produces(MediaType.APPLICATION_JSON)
@@ -25,9 +57,13 @@ import java.util.Map;
 public class EmployeeResource {
 
     private static final Logger logger = LoggerFactory.getLogger(EmployeeResource.class);
+    private static final long IMPORT_TIMEOUT_MS = Long.getLong("ems.bulkhead.import.timeoutMs", 300000L);
+    private static final List<Variant> LIST_VARIANTS = Variant.mediaTypes(MediaType.APPLICATION_JSON_TYPE,
+            JacksonConfig.CBOR_TYPE, JacksonConfig.SMILE_TYPE).build();
     private final EmployeeService service = new EmployeeService();
+    private final DbBulkhead bulkhead = DbBulkhead.getInstance();
 
-    private Employee buildEmployeeFromMap(Map<String, Object> body) {
+    static Employee buildEmployeeFromMap(Map<String, Object> body) {
         Employee employee = new Employee();
 
         if (body.get("firstName") != null)
@@ -62,123 +98,368 @@ public class EmployeeResource {
         return employee;
     }
 
+    private StreamingOutput streamEnvelope(Function<RowHandler<Object>, Integer> source) {
+        return streamEnvelope(MediaType.APPLICATION_JSON_TYPE, source);
+    }
+
+    private StreamingOutput streamEnvelope(MediaType type, Function<RowHandler<Object>, Integer> source) {
+        return output -> {
+            // Jersey owns the entity stream; closing the generator only flushes it.
+            try (JsonGenerator generator = JacksonConfig.mapperFor(type).createGenerator(output)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+                generator.writeStartObject();
+                generator.writeBooleanField("success", true);
+                generator.writeStringField("message", "OK");
+                generator.writeArrayFieldStart("data");
+                source.apply(generator::writeObject);
+                generator.writeEndArray();
+                generator.writeEndObject();
+            }
+        };
+    }
+
+    private Response conditional(Request request, EntityTag tag, Supplier<Object> entity) {
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(tag);
+        if (notModified != null) return notModified.cacheControl(ETags.revalidate()).build();
+        return Response.ok(entity.get()).tag(tag).cacheControl(ETags.revalidate()).build();
+    }
+
+    // List endpoints can also answer in CBOR or Smile; Jersey adds Vary: Accept for the selection.
+    private static MediaType listType(Request request) {
+        Variant variant = request.selectVariant(LIST_VARIANTS);
+        return variant != null ? variant.getMediaType() : MediaType.APPLICATION_JSON_TYPE;
+    }
+
+    private Response conditional(Request request, EntityTag tag, MediaType type, Supplier<Object> entity) {
+        EntityTag variantTag = ETags.variant(tag, type);
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(variantTag);
+        if (notModified != null) return notModified.cacheControl(ETags.revalidate()).build();
+        return Response.ok(entity.get(), type).tag(variantTag).cacheControl(ETags.revalidate()).build();
+    }
+
     @GET
-    public Response getAllEmployees() {
-        try {
-            return Response.ok(ApiResponse.success(service.getAllEmployees())).build();
-        } catch (Exception e) {
-            logger.error("Error fetching employees", e);
-            return Response.serverError()
-                    .entity(ApiResponse.error("Failed to retrieve employees.")).build();
-        }
+    @Produces({MediaType.APPLICATION_JSON, JacksonConfig.CBOR, JacksonConfig.SMILE})
+    public void getAllEmployees(
+            @QueryParam("limit") Integer limit,
+            @QueryParam("cursor") String cursor,
+            @QueryParam("stream") boolean stream,
+            @QueryParam("fields") String fields,
+            @Context Request request,
+            @Suspended AsyncResponse async) {
+        bulkhead.submit(Lane.READ, async, () -> {
+            try {
+                EmployeeProjection projection = EmployeeProjection.parse(fields);
+                MediaType type = listType(request);
+                EntityTag tag = ETags.collection("employees", service.getEmployeesVersion());
+                if (stream)
+                    return conditional(request, tag, type, () -> streamEnvelope(type, handler ->
+                            service.streamEmployees(null, null, null, null, projection,
+                                    employee -> handler.accept(projection.view(employee)))));
+                if (limit == null && cursor == null)
+                    return conditional(request, tag, type, () -> ApiResponse.success(
+                            projection.view(service.getAllEmployees(projection))));
+                return conditional(request, tag, type, () -> ApiResponse.page(
+                        projection.view(service.getEmployeePage(cursor, limit, projection))));
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(ApiResponse.error(e.getMessage())).build();
+            } catch (Exception e) {
+                logger.error("Error fetching employees", e);
+                return Response.serverError()
+                        .entity(ApiResponse.error("Failed to retrieve employees.")).build();
+            }
+        });
     }
 
     @GET
     @Path("/{id}")
-    public Response getEmployeeById(@PathParam("id") int id) {
-        try {
-            return Response.ok(ApiResponse.success(service.getEmployeeById(id))).build();
-        } catch (IllegalArgumentException e) {
-            return Response.status(Response.Status.NOT_FOUND)
-                    .entity(ApiResponse.error(e.getMessage())).build();
-        }
+    public void getEmployeeById(@PathParam("id") int id, @QueryParam("fields") String fields,
+                                @Context Request request, @Suspended AsyncResponse async) {
+        bulkhead.submit(Lane.READ, async, () -> {
+            EmployeeProjection projection;
+            try {
+                projection = EmployeeProjection.parse(fields);
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(ApiResponse.error(e.getMessage())).build();
+            }
+            try {
+                Employee employee = service.getEmployeeById(id, projection);
+                return conditional(request, ETags.of(employee), () -> ApiResponse.success(projection.view(employee)));
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.NOT_FOUND)
+                        .entity(ApiResponse.error(e.getMessage())).build();
+            }
+        });
     }
 
     @GET
     @Path("/search")
-    public Response searchEmployees(
+    public void searchEmployees(
             @QueryParam("name") String name,
             @QueryParam("department") String department,
             @QueryParam("position") String position,
-            @QueryParam("hireDate") String hireDateStr) {
-        try {
-            LocalDate hireDate = (hireDateStr != null && !hireDateStr.isBlank())
-                    ? LocalDate.parse(hireDateStr) : null;
-            return Response.ok(ApiResponse.success(
-                    service.searchEmployees(name, department, position, hireDate))).build();
-        } catch (Exception exception) {
-            return Response.status(Response.Status.BAD_REQUEST)
-                    .entity(ApiResponse.error("Search failed: " + exception.getMessage())).build();
-        }
+            @QueryParam("hireDate") String hireDateStr,
+            @QueryParam("limit") Integer limit,
+            @QueryParam("cursor") String cursor,
+            @QueryParam("stream") boolean stream,
+            @QueryParam("fields") String fields,
+            @Context Request request,
+            @Suspended AsyncResponse async) {
+        bulkhead.submit(Lane.READ, async, () -> {
+            try {
+                LocalDate hireDate = (hireDateStr != null && !hireDateStr.isBlank())
+                        ? LocalDate.parse(hireDateStr) : null;
+                EmployeeProjection projection = EmployeeProjection.parse(fields);
+                EntityTag tag = ETags.collection("employees", service.getEmployeesVersion());
+                if (stream)
+                    return conditional(request, tag, () -> streamEnvelope(handler ->
+                            service.streamEmployees(name, department, position, hireDate, projection,
+                                    employee -> handler.accept(projection.view(employee)))));
+                if (limit == null && cursor == null)
+                    return conditional(request, tag, () -> ApiResponse.success(
+                            projection.view(service.searchEmployees(name, department, position, hireDate, projection))));
+                return conditional(request, tag, () -> ApiResponse.page(projection.view(
+                        service.searchEmployees(name, department, position, hireDate, cursor, limit, projection))));
+            } catch (Exception exception) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(ApiResponse.error("Search failed: " + exception.getMessage())).build();
+            }
+        });
     }
 
     @POST
     @RolesAllowed({"ADMIN", "HR"})
-    public Response createEmployee(Map<String, Object> body) {
-        try {
-            Employee employee = buildEmployeeFromMap(body);
-            Employee created = service.createEmployee(employee);
-            return Response.status(Response.Status.CREATED)
-                    .entity(ApiResponse.success("Employee created successfully.", created)).build();
-        } catch (IllegalArgumentException e) {
-            return Response.status(Response.Status.CONFLICT)
-                    .entity(ApiResponse.error(e.getMessage())).build();
-        } catch (Exception e) {
-            logger.error("Error creating employee", e);
-            return Response.serverError()
-                    .entity(ApiResponse.error("Failed to create employee: " + e.getMessage())).build();
-        }
+    public void createEmployee(Map<String, Object> body, @Suspended AsyncResponse async) {
+        bulkhead.submit(Lane.WRITE, async, () -> {
+            try {
+                Employee employee = buildEmployeeFromMap(body);
+                Employee created = service.createEmployee(employee);
+                return Response.status(Response.Status.CREATED)
+                        .entity(ApiResponse.success("Employee created successfully.", created)).build();
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.CONFLICT)
+                        .entity(ApiResponse.error(e.getMessage())).build();
+            } catch (Exception e) {
+                logger.error("Error creating employee", e);
+                return Response.serverError()
+                        .entity(ApiResponse.error("Failed to create employee: " + e.getMessage())).build();
+            }
+        });
+    }
+
+    @POST
+    @Path("/bulk")
+    @RolesAllowed({"ADMIN", "HR"})
+    @Consumes({"application/x-ndjson", "text/csv"})
+    public void importEmployees(InputStream body, @Context HttpHeaders headers, @Suspended AsyncResponse async) {
+        bulkhead.submit(Lane.WRITE, async, IMPORT_TIMEOUT_MS, () -> {
+            EmployeeImportReader.Format format = MediaType.valueOf("text/csv").isCompatible(headers.getMediaType())
+                    ? EmployeeImportReader.Format.CSV : EmployeeImportReader.Format.NDJSON;
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+                EmployeeImport.Report report = service.importEmployees(
+                        new EmployeeImportReader(reader, format, EmployeeResource::buildEmployeeFromMap));
+                return Response.ok(ApiResponse.success("Imported " + report.getImported() + " of "
+                        + report.getTotal() + " employees.", report)).build();
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(ApiResponse.error(e.getMessage())).build();
+            } catch (Exception e) {
+                logger.error("Error importing employees", e);
+                return Response.serverError()
+                        .entity(ApiResponse.error("Failed to import employees: " + e.getMessage())).build();
+            }
+        });
     }
 
     @PUT
     @Path("/{id}")
     @RolesAllowed({"ADMIN", "HR"})
-    public Response updateEmployee(@PathParam("id") int id, Map<String, Object> body) {
-        try {
-            Employee employee = buildEmployeeFromMap(body);
-            return Response.ok(ApiResponse.success("Employee updated successfully.",
-                    service.updateEmployee(id, employee))).build();
-        } catch (IllegalArgumentException e) {
-            return Response.status(Response.Status.NOT_FOUND)
-                    .entity(ApiResponse.error(e.getMessage())).build();
-        } catch (Exception e) {
-            logger.error("Error updating employee", e);
-            return Response.serverError()
-                    .entity(ApiResponse.error("Failed to update employee: " + e.getMessage())).build();
-        }
+    public void updateEmployee(@PathParam("id") int id, Map<String, Object> body, @Suspended AsyncResponse async) {
+        bulkhead.submit(Lane.WRITE, async, () -> {
+            try {
+                Employee employee = buildEmployeeFromMap(body);
+                return Response.ok(ApiResponse.success("Employee updated successfully.",
+                        service.updateEmployee(id, employee))).build();
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.NOT_FOUND)
+                        .entity(ApiResponse.error(e.getMessage())).build();
+            } catch (Exception e) {
+                logger.error("Error updating employee", e);
+                return Response.serverError()
+                        .entity(ApiResponse.error("Failed to update employee: " + e.getMessage())).build();
+            }
+        });
     }
 
     @DELETE
     @Path("/{id}")
     @RolesAllowed("ADMIN")
-    public Response archiveEmployee(
+    public void archiveEmployee(
             @PathParam("id") int id,
-            @QueryParam("reason") @DefaultValue("") String reason) {
-        try {
-            PastEmployee archived = service.archiveEmployee(id, reason);
-            return Response.ok(ApiResponse.success(
-                    "Employee archived to Past Employees.", archived)).build();
-        } catch (IllegalArgumentException e) {
-            return Response.status(Response.Status.NOT_FOUND)
-                    .entity(ApiResponse.error(e.getMessage())).build();
-        } catch (Exception e) {
-            logger.error("Error archiving employee", e);
-            return Response.serverError()
-                    .entity(ApiResponse.error("Failed to archive employee.")).build();
-        }
+            @QueryParam("reason") @DefaultValue("") String reason,
+            @Suspended AsyncResponse async) {
+        bulkhead.submit(Lane.WRITE, async, () -> {
+            try {
+                PastEmployee archived = service.archiveEmployee(id, reason);
+                return Response.ok(ApiResponse.success(
+                        "Employee archived to Past Employees.", archived)).build();
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.NOT_FOUND)
+                        .entity(ApiResponse.error(e.getMessage())).build();
+            } catch (Exception e) {
+                logger.error("Error archiving employee", e);
+                return Response.serverError()
+                        .entity(ApiResponse.error("Failed to archive employee.")).build();
+            }
+        });
+    }
+
+    @POST
+    @Path("/archive")
+    @RolesAllowed("ADMIN")
+    public void archiveEmployees(Map<String, Object> body, @Suspended AsyncResponse async) {
+        bulkhead.submit(Lane.WRITE, async, () -> {
+            try {
+                if (body == null) throw new IllegalArgumentException("Request body is required.");
+                List<Integer> ids = new ArrayList<>();
+                if (body.get("ids") instanceof List<?> raw) {
+                    for (Object id : raw) ids.add(Integer.parseInt(id.toString()));
+                }
+                Integer departmentId = body.get("departmentId") != null
+                        ? Integer.valueOf(body.get("departmentId").toString()) : null;
+                Integer positionId = body.get("positionId") != null
+                        ? Integer.valueOf(body.get("positionId").toString()) : null;
+                String reason = body.get("reason") != null ? body.get("reason").toString() : null;
+
+                List<PastEmployee> archived = service.archiveEmployees(ids, departmentId, positionId, reason);
+                List<Integer> archivedIds = new ArrayList<>(archived.size());
+                for (PastEmployee pe : archived) archivedIds.add(pe.getOriginalEmployeeId());
+                Map<String, Object> result = new LinkedHashMap<>();
+                result.put("archived", archived.size());
+                result.put("archivedIds", archivedIds);
+                if (!ids.isEmpty()) {
+                    List<Integer> notFound = new ArrayList<>(new LinkedHashSet<>(ids));
+                    notFound.removeAll(new HashSet<>(archivedIds));
+                    result.put("notFound", notFound);
+                }
+                return Response.ok(ApiResponse.success(
+                        archived.size() + " employees archived to Past Employees.", result)).build();
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(ApiResponse.error(e.getMessage())).build();
+            } catch (Exception e) {
+                logger.error("Error archiving employees", e);
+                return Response.serverError()
+                        .entity(ApiResponse.error("Failed to archive employees.")).build();
+            }
+        });
+    }
+
+    @GET
+    @Path("/stats")
+    public void getStats(@QueryParam("recent") Integer recent, @Context Request request,
+                         @Suspended AsyncResponse async) {
+        bulkhead.submit(Lane.READ, async, () -> {
+            try {
+                EntityTag tag = ETags.collection("stats-" + (recent != null ? recent : 5),
+                        service.getEmployeesVersion() + "." + service.getPastEmployeesVersion());
+                return conditional(request, tag, () -> ApiResponse.success(service.getStats(recent)));
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(ApiResponse.error(e.getMessage())).build();
+            } catch (Exception e) {
+                logger.error("Error fetching employee stats", e);
+                return Response.serverError()
+                        .entity(ApiResponse.error("Failed to retrieve employee stats.")).build();
+            }
+        });
+    }
+
+    @GET
+    @Path("/changes")
+    public void getChanges(@QueryParam("since") String since, @QueryParam("limit") Integer limit,
+                           @Suspended AsyncResponse async) {
+        bulkhead.submit(Lane.READ, async, () -> {
+            try {
+                return Response.ok(ApiResponse.success(service.getChanges(since, limit)))
+                        .header("Cache-Control", "no-store").build();
+            } catch (StaleChangeTokenException e) {
+                return Response.status(Response.Status.GONE)
+                        .entity(ApiResponse.error(e.getMessage())).build();
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(ApiResponse.error(e.getMessage())).build();
+            } catch (Exception e) {
+                logger.error("Error fetching employee changes since {}", since, e);
+                return Response.serverError()
+                        .entity(ApiResponse.error("Failed to retrieve employee changes.")).build();
+            }
+        });
+    }
+
+    @POST
+    @Path("/changes/ticket")
+    public Response getChangesTicket(@HeaderParam(HttpHeaders.AUTHORIZATION) String authorization) {
+        // JwtAuthFilter has already accepted the header; authenticate again for the token's expiry.
+        TokenCache.AuthenticatedUser user = JwtUtil.authenticate(authorization.substring("Bearer ".length()).trim());
+        SocketTickets tickets = SocketTickets.getInstance();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("ticket", tickets.issue(user));
+        body.put("expiresIn", tickets.getTtlSeconds());
+        return Response.ok(ApiResponse.success(body)).header("Cache-Control", "no-store").build();
     }
 
     @GET
     @Path("/past")
-    public Response getAllPastEmployees() {
-        try {
-            return Response.ok(ApiResponse.success(service.getAllPastEmployees())).build();
-        } catch (Exception e) {
-            logger.error("Error fetching past employees", e);
-            return Response.serverError()
-                    .entity(ApiResponse.error("Failed to retrieve past employees.")).build();
-        }
+    @Produces({MediaType.APPLICATION_JSON, JacksonConfig.CBOR, JacksonConfig.SMILE})
+    public void getAllPastEmployees(
+            @QueryParam("from") String fromStr,
+            @QueryParam("to") String toStr,
+            @QueryParam("departmentId") Integer departmentId,
+            @QueryParam("reason") String reason,
+            @QueryParam("limit") Integer limit,
+            @QueryParam("cursor") String cursor,
+            @QueryParam("stream") boolean stream,
+            @Context Request request,
+            @Suspended AsyncResponse async) {
+        bulkhead.submit(Lane.READ, async, () -> {
+            try {
+                LocalDate from = (fromStr != null && !fromStr.isBlank()) ? LocalDate.parse(fromStr) : null;
+                LocalDate to = (toStr != null && !toStr.isBlank()) ? LocalDate.parse(toStr) : null;
+                MediaType type = listType(request);
+                EntityTag tag = ETags.collection("past", service.getPastEmployeesVersion());
+                if (stream)
+                    return conditional(request, tag, type, () -> streamEnvelope(type, handler ->
+                            service.streamPastEmployees(from, to, departmentId, reason, handler)));
+                if (limit == null && cursor == null && from == null && to == null && departmentId == null
+                        && (reason == null || reason.isBlank()))
+                    return conditional(request, tag, type, () -> ApiResponse.success(service.getAllPastEmployees()));
+                return conditional(request, tag, type, () -> ApiResponse.page(
+                        service.getPastEmployeePage(from, to, departmentId, reason, cursor, limit)));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(ApiResponse.error(e.getMessage())).build();
+            } catch (Exception e) {
+                logger.error("Error fetching past employees", e);
+                return Response.serverError()
+                        .entity(ApiResponse.error("Failed to retrieve past employees.")).build();
+            }
+        });
     }
 
     @GET
     @Path("/past/{id}")
-    public Response getPastEmployeeById(@PathParam("id") int id) {
-        try {
-            return Response.ok(ApiResponse.success(service.getPastEmployeeById(id))).build();
-        } catch (IllegalArgumentException e) {
-            return Response.status(Response.Status.NOT_FOUND)
-                    .entity(ApiResponse.error(e.getMessage())).build();
-        }
+    public void getPastEmployeeById(@PathParam("id") int id, @Context Request request, @Suspended AsyncResponse async) {
+        bulkhead.submit(Lane.READ, async, () -> {
+            try {
+                return conditional(request, ETags.pastEmployee(id),
+                        () -> ApiResponse.success(service.getPastEmployeeById(id)));
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.NOT_FOUND)
+                        .entity(ApiResponse.error(e.getMessage())).build();
+            }
+        });
     }
 }
 
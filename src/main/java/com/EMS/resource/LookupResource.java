@@ -3,10 +3,20 @@ package com.EMS.resource;
 import com.EMS.auth.Secured;
 import com.EMS.service.LookupService;
 import com.EMS.util.ApiResponse;
+import com.EMS.util.DbBulkhead;
+import com.EMS.util.DbBulkhead.Lane;
+import com.EMS.util.ETags;
+import jakarta.annotation.security.RolesAllowed;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.Suspended;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 
 @Path("/lookups")
@@ -15,16 +25,38 @@ import jakarta.ws.rs.core.Response;
 public class LookupResource {
 
     private final LookupService lookupService = new LookupService();
+    private final DbBulkhead bulkhead = DbBulkhead.getInstance();
 
     @GET
     @Path("/departments")
-    public Response getDepartments() {
-        return Response.ok(ApiResponse.success(lookupService.getAllDepartments())).build();
+    public void getDepartments(@Context Request request, @Suspended AsyncResponse async) {
+        bulkhead.submit(Lane.READ, async, () -> {
+            EntityTag tag = ETags.collection("departments", lookupService.getDepartmentsFingerprint());
+            Response.ResponseBuilder notModified = request.evaluatePreconditions(tag);
+            if (notModified != null) return notModified.cacheControl(ETags.revalidate()).build();
+            return Response.ok(ApiResponse.success(lookupService.getAllDepartments()))
+                    .tag(tag).cacheControl(ETags.revalidate()).build();
+        });
     }
 
     @GET
     @Path("/positions")
-    public Response getPositions() {
-        return Response.ok(ApiResponse.success(lookupService.getAllPositions())).build();
+    public void getPositions(@Context Request request, @Suspended AsyncResponse async) {
+        bulkhead.submit(Lane.READ, async, () -> {
+            EntityTag tag = ETags.collection("positions", lookupService.getPositionsFingerprint());
+            Response.ResponseBuilder notModified = request.evaluatePreconditions(tag);
+            if (notModified != null) return notModified.cacheControl(ETags.revalidate()).build();
+            return Response.ok(ApiResponse.success(lookupService.getAllPositions()))
+                    .tag(tag).cacheControl(ETags.revalidate()).build();
+        });
+    }
+
+    @POST
+    @Path("/refresh")
+    @RolesAllowed("ADMIN")
+    public void refresh(@Suspended AsyncResponse async) {
+        bulkhead.submit(Lane.WRITE, async, () -> {
+            return Response.ok(ApiResponse.success("Lookup cache refreshed.", lookupService.refresh())).build();
+        });
     }
 }
\ No newline at end of file
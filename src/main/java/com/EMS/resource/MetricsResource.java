@@ -0,0 +1,37 @@
+package com.EMS.resource;
+
+import com.EMS.metrics.PrometheusWriter;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+@Path("/metrics")
+public class MetricsResource {
+
+    private static final String SCRAPE_TOKEN = System.getProperty("ems.metrics.token", "");
+    // Scrapes need the token unless the endpoint is explicitly opened up, e.g. behind a private network.
+    private static final boolean PUBLIC = Boolean.getBoolean("ems.metrics.public");
+
+    @GET
+    @Produces(PrometheusWriter.CONTENT_TYPE)
+    public Response scrape(@HeaderParam(HttpHeaders.AUTHORIZATION) String authorization) {
+        if (!PUBLIC) {
+            if (SCRAPE_TOKEN.isEmpty())
+                return Response.status(Response.Status.FORBIDDEN)
+                        .entity("Set -Dems.metrics.token or -Dems.metrics.public=true to enable scrapes.").build();
+            if (!MessageDigest.isEqual(("Bearer " + SCRAPE_TOKEN).getBytes(StandardCharsets.UTF_8),
+                    String.valueOf(authorization).getBytes(StandardCharsets.UTF_8)))
+                return Response.status(Response.Status.UNAUTHORIZED).build();
+        }
+        CacheControl noStore = new CacheControl();
+        noStore.setNoStore(true);
+        return Response.ok(new PrometheusWriter().write(), PrometheusWriter.CONTENT_TYPE).cacheControl(noStore).build();
+    }
+}
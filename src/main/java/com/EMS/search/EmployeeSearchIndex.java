@@ -0,0 +1,366 @@
+package com.EMS.search;
+
+import com.EMS.dao.EmployeeDAO;
+import com.EMS.entity.Department;
+import com.EMS.entity.Employee;
+import com.EMS.entity.Position;
+import com.EMS.util.Page;
+import com.EMS.util.PageCursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class EmployeeSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeSearchIndex.class);
+    private static final int GRAM = 3;
+
+    private static final Comparator<Entry> ORDER = Comparator
+            .comparing((Entry e) -> e.employee.getLastName(), String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(e -> e.employee.getFirstName(), String.CASE_INSENSITIVE_ORDER)
+            .thenComparingInt(e -> e.employee.getEmployeeId());
+    private static final EmployeeSearchIndex INSTANCE = new EmployeeSearchIndex();
+
+    private final boolean enabled = Boolean.parseBoolean(System.getProperty("ems.search.index", "true"));
+    private final Map<Integer, Entry> entries = new ConcurrentHashMap<>();
+    // Entries in page order, so a page seeks from the cursor instead of ranking every match.
+    private final NavigableSet<Entry> ordered = new ConcurrentSkipListSet<>(ORDER);
+    private final Map<String, Set<Integer>> nameGrams = new ConcurrentHashMap<>();
+    private final Map<Integer, Set<Integer>> byDepartment = new ConcurrentHashMap<>();
+    private final Map<Integer, Set<Integer>> byPosition = new ConcurrentHashMap<>();
+    private final Map<Integer, String> departmentNames = new ConcurrentHashMap<>();
+    private final Map<Integer, String> positionTitles = new ConcurrentHashMap<>();
+    private final Set<Integer> touchedDuringLoad = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean loading = new AtomicBoolean();
+    private volatile boolean warm;
+
+    private EmployeeSearchIndex() {
+    }
+
+    public static EmployeeSearchIndex getInstance() {
+        return INSTANCE;
+    }
+
+    public boolean isWarm() {
+        return warm;
+    }
+
+    public void warmUpAsync(EmployeeDAO employeeDAO) {
+        if (!enabled || warm || !loading.compareAndSet(false, true)) return;
+        Thread loader = new Thread(() -> load(employeeDAO), "employee-search-index-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    private void load(EmployeeDAO employeeDAO) {
+        long start = System.nanoTime();
+        try {
+            int rows = employeeDAO.stream(null, null, null, null, employee -> {
+                synchronized (this) {
+                    if (!touchedDuringLoad.contains(employee.getEmployeeId())) index(employee);
+                }
+            });
+            warm = true;
+            touchedDuringLoad.clear();
+            logger.info("Employee search index loaded {} rows in {} ms", rows, (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            logger.error("Failed to load employee search index", e);
+            clear();
+            loading.set(false);
+        }
+    }
+
+    public synchronized void put(Employee employee) {
+        if (!loading.get()) return;
+        if (!warm) touchedDuringLoad.add(employee.getEmployeeId());
+        unindex(employee.getEmployeeId());
+        index(copy(employee));
+    }
+
+    public synchronized void remove(int employeeId) {
+        if (!loading.get()) return;
+        if (!warm) touchedDuringLoad.add(employeeId);
+        unindex(employeeId);
+    }
+
+    // Department and position names are copied into every entry. A lookup refresh that picks up a
+    // rename re-indexes the members under the new name.
+    public synchronized void relabel(List<Department> departments, List<Position> positions) {
+        if (!loading.get()) return;
+        for (Department department : departments) {
+            int id = department.getDepartmentId();
+            String current = departmentNames.get(id);
+            if (current == null || current.equals(normalize(department.getDepartmentName()))) continue;
+            for (Integer member : List.copyOf(byDepartment.getOrDefault(id, Set.of()))) {
+                Entry entry = entries.get(member);
+                if (entry == null) continue;
+                Employee employee = copy(entry.employee);
+                employee.getDepartment().setDepartmentName(department.getDepartmentName());
+                unindex(member);
+                index(employee);
+            }
+            departmentNames.put(id, normalize(department.getDepartmentName()));
+        }
+        for (Position position : positions) {
+            int id = position.getPositionId();
+            String current = positionTitles.get(id);
+            if (current == null || current.equals(normalize(position.getTitle()))) continue;
+            for (Integer member : List.copyOf(byPosition.getOrDefault(id, Set.of()))) {
+                Entry entry = entries.get(member);
+                if (entry == null) continue;
+                Employee employee = copy(entry.employee);
+                employee.getPosition().setTitle(position.getTitle());
+                employee.getPosition().setPayGrade(position.getPayGrade());
+                unindex(member);
+                index(employee);
+            }
+            positionTitles.put(id, normalize(position.getTitle()));
+        }
+    }
+
+    public synchronized void clear() {
+        warm = false;
+        entries.clear();
+        ordered.clear();
+        nameGrams.clear();
+        byDepartment.clear();
+        byPosition.clear();
+        departmentNames.clear();
+        positionTitles.clear();
+        touchedDuringLoad.clear();
+    }
+
+    public List<Employee> search(String name, String department, String position, LocalDate hireDate) {
+        List<Entry> matches = new ArrayList<>();
+        for (Integer id : candidates(name, department, position)) {
+            Entry entry = entries.get(id);
+            if (entry != null && entry.matches(name, department, position, hireDate)) matches.add(entry);
+        }
+        matches.sort(ORDER);
+        List<Employee> result = new ArrayList<>(matches.size());
+        for (Entry entry : matches) result.add(entry.employee);
+        return result;
+    }
+
+    public Page<Employee> search(String name, String department, String position, LocalDate hireDate,
+                                 PageCursor after, int limit) {
+        Collection<Integer> candidates = candidates(name, department, position);
+        // Walking the ordered set visits about limit * N / |candidates| entries, ranking the candidates
+        // visits all of them; take whichever is cheaper.
+        if (candidates == entries.keySet() || (long) candidates.size() * candidates.size() > (long) limit * entries.size())
+            return seek(name, department, position, hireDate, after, limit);
+        PriorityQueue<Entry> top = new PriorityQueue<>(limit + 1, ORDER.reversed());
+        for (Integer id : candidates) {
+            Entry entry = entries.get(id);
+            if (entry == null || !entry.matches(name, department, position, hireDate)) continue;
+            if (after != null && entry.compareTo(after) <= 0) continue;
+            top.offer(entry);
+            if (top.size() > limit + 1) top.poll();
+        }
+        List<Entry> sorted = new ArrayList<>(top);
+        sorted.sort(ORDER);
+        return page(sorted, limit);
+    }
+
+    private Page<Employee> seek(String name, String department, String position, LocalDate hireDate,
+                                PageCursor after, int limit) {
+        Collection<Entry> tail = after == null ? ordered : ordered.tailSet(probe(after), false);
+        List<Entry> matches = new ArrayList<>(limit + 1);
+        for (Entry entry : tail) {
+            if (!entry.matches(name, department, position, hireDate)) continue;
+            matches.add(entry);
+            if (matches.size() > limit) break;
+        }
+        return page(matches, limit);
+    }
+
+    private static Page<Employee> page(List<Entry> sorted, int limit) {
+        List<Employee> items = new ArrayList<>(Math.min(sorted.size(), limit));
+        for (int i = 0; i < sorted.size() && i < limit; i++) items.add(sorted.get(i).employee);
+        if (sorted.size() <= limit) return new Page<>(items, null);
+        Employee last = items.get(limit - 1);
+        return new Page<>(items, new PageCursor(last.getLastName(), last.getFirstName(), last.getEmployeeId(), true).encode());
+    }
+
+    private static Entry probe(PageCursor cursor) {
+        Employee employee = new Employee();
+        employee.setLastName(cursor.getLastName());
+        employee.setFirstName(cursor.getFirstName());
+        employee.setEmployeeId(cursor.getEmployeeId());
+        return new Entry(employee);
+    }
+
+    private Collection<Integer> candidates(String name, String department, String position) {
+        Collection<Integer> smallest = null;
+        if (department != null && !department.isBlank()) {
+            smallest = smaller(smallest, byLabel(departmentNames, byDepartment, department));
+        }
+        if (position != null && !position.isBlank()) {
+            smallest = smaller(smallest, byLabel(positionTitles, byPosition, position));
+        }
+        if (name != null && name.length() >= GRAM) {
+            smallest = smaller(smallest, byGrams(normalize(name)));
+        }
+        return smallest != null ? smallest : entries.keySet();
+    }
+
+    private Collection<Integer> smaller(Collection<Integer> current, Collection<Integer> candidate) {
+        return (current == null || candidate.size() < current.size()) ? candidate : current;
+    }
+
+    private Collection<Integer> byLabel(Map<Integer, String> labels, Map<Integer, Set<Integer>> members, String query) {
+        String needle = normalize(query);
+        List<Set<Integer>> groups = new ArrayList<>();
+        for (Map.Entry<Integer, String> label : labels.entrySet()) {
+            if (label.getValue().contains(needle)) {
+                Set<Integer> ids = members.get(label.getKey());
+                if (ids != null) groups.add(ids);
+            }
+        }
+        if (groups.size() == 1) return groups.get(0);
+        Set<Integer> union = new HashSet<>();
+        for (Set<Integer> ids : groups) union.addAll(ids);
+        return union;
+    }
+
+    private Collection<Integer> byGrams(String needle) {
+        Set<Integer> smallest = null;
+        for (String gram : grams(needle)) {
+            Set<Integer> postings = nameGrams.get(gram);
+            if (postings == null) return Collections.emptySet();
+            if (smallest == null || postings.size() < smallest.size()) smallest = postings;
+        }
+        return smallest != null ? smallest : entries.keySet();
+    }
+
+    private void index(Employee employee) {
+        Entry entry = new Entry(employee);
+        int id = employee.getEmployeeId();
+        entries.put(id, entry);
+        ordered.add(entry);
+        for (String gram : entry.grams) nameGrams.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(id);
+        if (employee.getDepartment() != null) {
+            departmentNames.put(employee.getDepartment().getDepartmentId(), entry.department);
+            byDepartment.computeIfAbsent(employee.getDepartment().getDepartmentId(),
+                    k -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+        if (employee.getPosition() != null) {
+            positionTitles.put(employee.getPosition().getPositionId(), entry.position);
+            byPosition.computeIfAbsent(employee.getPosition().getPositionId(),
+                    k -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    private void unindex(int id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) return;
+        ordered.remove(entry);
+        for (String gram : entry.grams) {
+            Set<Integer> postings = nameGrams.get(gram);
+            if (postings != null) postings.remove(id);
+        }
+        Employee employee = entry.employee;
+        if (employee.getDepartment() != null) {
+            Set<Integer> ids = byDepartment.get(employee.getDepartment().getDepartmentId());
+            if (ids != null) ids.remove(id);
+        }
+        if (employee.getPosition() != null) {
+            Set<Integer> ids = byPosition.get(employee.getPosition().getPositionId());
+            if (ids != null) ids.remove(id);
+        }
+    }
+
+    private static Set<String> grams(String value) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= value.length(); i++) grams.add(value.substring(i, i + GRAM));
+        return grams;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    private static Employee copy(Employee source) {
+        Employee employee = new Employee();
+        employee.setEmployeeId(source.getEmployeeId());
+        employee.setFirstName(source.getFirstName());
+        employee.setLastName(source.getLastName());
+        employee.setEmail(source.getEmail());
+        employee.setPhone(source.getPhone());
+        employee.setHireDate(source.getHireDate());
+        employee.setSalary(source.getSalary());
+        employee.setStatus(source.getStatus());
+        employee.setUpdatedAt(source.getUpdatedAt());
+        if (source.getDepartment() != null) {
+            Department department = new Department();
+            department.setDepartmentId(source.getDepartment().getDepartmentId());
+            department.setDepartmentName(source.getDepartment().getDepartmentName());
+            employee.setDepartment(department);
+        }
+        if (source.getPosition() != null) {
+            Position position = new Position();
+            position.setPositionId(source.getPosition().getPositionId());
+            position.setTitle(source.getPosition().getTitle());
+            position.setPayGrade(source.getPosition().getPayGrade());
+            employee.setPosition(position);
+        }
+        return employee;
+    }
+
+    private static class Entry {
+
+        private final Employee employee;
+        private final String firstName;
+        private final String lastName;
+        private final String department;
+        private final String position;
+        private final Set<String> grams;
+
+        Entry(Employee employee) {
+            this.employee = employee;
+            this.firstName = normalize(employee.getFirstName());
+            this.lastName = normalize(employee.getLastName());
+            this.department = employee.getDepartment() != null
+                    ? normalize(employee.getDepartment().getDepartmentName()) : "";
+            this.position = employee.getPosition() != null
+                    ? normalize(employee.getPosition().getTitle()) : "";
+            this.grams = grams(firstName);
+            this.grams.addAll(grams(lastName));
+        }
+
+        boolean matches(String name, String departmentQuery, String positionQuery, LocalDate hireDate) {
+            if (name != null && !name.isBlank()) {
+                String needle = normalize(name);
+                if (!firstName.contains(needle) && !lastName.contains(needle)) return false;
+            }
+            if (departmentQuery != null && !departmentQuery.isBlank()
+                    && !department.contains(normalize(departmentQuery))) return false;
+            if (positionQuery != null && !positionQuery.isBlank()
+                    && !position.contains(normalize(positionQuery))) return false;
+            return hireDate == null || hireDate.equals(employee.getHireDate());
+        }
+
+        int compareTo(PageCursor cursor) {
+            int c = String.CASE_INSENSITIVE_ORDER.compare(employee.getLastName(), cursor.getLastName());
+            if (c != 0) return c;
+            c = String.CASE_INSENSITIVE_ORDER.compare(employee.getFirstName(), cursor.getFirstName());
+            if (c != 0) return c;
+            return Integer.compare(employee.getEmployeeId(), cursor.getEmployeeId());
+        }
+    }
+}
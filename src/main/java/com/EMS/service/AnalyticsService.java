@@ -0,0 +1,70 @@
+package com.EMS.service;
+
+import com.EMS.cache.DataVersion;
+import com.EMS.cache.LookupCache;
+import com.EMS.cache.PayrollAggregates;
+import com.EMS.entity.Department;
+import com.EMS.entity.Position;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class AnalyticsService {
+
+    private final PayrollAggregates aggregates = PayrollAggregates.getInstance();
+    private final LookupCache lookupCache = LookupCache.getInstance();
+    private final DataVersion dataVersion = DataVersion.getInstance();
+
+    public String getVersion() {
+        return dataVersion.employees();
+    }
+
+    public Map<String, Object> getBreakdown(String by) {
+        String groupBy = by == null || by.isBlank() ? "all" : by.trim().toLowerCase();
+        if (!groupBy.equals("all") && !groupBy.equals("department") && !groupBy.equals("position"))
+            throw new IllegalArgumentException("by must be one of: department, position, all.");
+
+        PayrollAggregates.Snapshot snapshot = aggregates.snapshot();
+        LookupCache.Snapshot lookups = lookupCache.snapshot();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("total", snapshot.getTotal());
+        if (!groupBy.equals("position")) {
+            List<Map<String, Object>> rows = new ArrayList<>();
+            for (Department department : lookups.getDepartments()) {
+                rows.add(row("departmentId", department.getDepartmentId(), "departmentName",
+                        department.getDepartmentName(), snapshot.getDepartments().get(department.getDepartmentId())));
+            }
+            result.put("departments", rows);
+        }
+        if (!groupBy.equals("department")) {
+            List<Map<String, Object>> rows = new ArrayList<>();
+            for (Position position : lookups.getPositions()) {
+                rows.add(row("positionId", position.getPositionId(), "title",
+                        position.getTitle(), snapshot.getPositions().get(position.getPositionId())));
+            }
+            result.put("positions", rows);
+        }
+        return result;
+    }
+
+    public boolean verify() {
+        boolean consistent = aggregates.verify();
+        if (!consistent) dataVersion.employeesChanged();
+        return consistent;
+    }
+
+    private Map<String, Object> row(String idKey, Integer id, String labelKey, String label,
+                                    PayrollAggregates.Stats stats) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put(idKey, id);
+        row.put(labelKey, label);
+        row.put("headcount", stats != null ? stats.getHeadcount() : 0);
+        row.put("totalSalary", stats != null ? stats.getTotalSalary() : 0);
+        row.put("meanSalary", stats != null ? stats.getMeanSalary() : null);
+        row.put("minSalary", stats != null ? stats.getMinSalary() : null);
+        row.put("maxSalary", stats != null ? stats.getMaxSalary() : null);
+        return row;
+    }
+}
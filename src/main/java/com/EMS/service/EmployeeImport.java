@@ -0,0 +1,98 @@
+package com.EMS.service;
+
+import com.EMS.entity.Employee;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class EmployeeImport {
+
+    public static final int MAX_REPORTED_ERRORS = 10_000;
+
+    private EmployeeImport() {
+    }
+
+    public static class Row {
+
+        private final int line;
+        private final Employee employee;
+        private final String error;
+
+        private Row(int line, Employee employee, String error) {
+            this.line = line;
+            this.employee = employee;
+            this.error = error;
+        }
+
+        public static Row of(int line, Employee employee) {
+            return new Row(line, employee, null);
+        }
+
+        public static Row failed(int line, String error) {
+            return new Row(line, null, error);
+        }
+
+        public int getLine() {
+            return line;
+        }
+
+        public Employee getEmployee() {
+            return employee;
+        }
+
+        public String getError() {
+            return error;
+        }
+    }
+
+    public static class Report {
+
+        private int total;
+        private int imported;
+        private int failed;
+        private boolean errorsTruncated;
+        private final List<Map<String, Object>> errors = new ArrayList<>();
+
+        void accepted(int count) {
+            imported += count;
+        }
+
+        void seen() {
+            total++;
+        }
+
+        void failed(int line, String error) {
+            failed++;
+            if (errors.size() >= MAX_REPORTED_ERRORS) {
+                errorsTruncated = true;
+                return;
+            }
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("line", line);
+            entry.put("error", error);
+            errors.add(entry);
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        public int getImported() {
+            return imported;
+        }
+
+        public int getFailed() {
+            return failed;
+        }
+
+        public boolean isErrorsTruncated() {
+            return errorsTruncated;
+        }
+
+        public List<Map<String, Object>> getErrors() {
+            return errors;
+        }
+    }
+}
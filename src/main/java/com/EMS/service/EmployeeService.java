@@ -1,86 +1,368 @@
 package com.EMS.service;
 
-import com.EMS.dao.DepartmentDAO;
+import com.EMS.cache.DataVersion;
+import com.EMS.cache.EmployeeStats;
+import com.EMS.cache.LookupCache;
+import com.EMS.cache.PayrollAggregates;
+import com.EMS.dao.ChangeLogDAO;
 import com.EMS.dao.EmployeeDAO;
+import com.EMS.dao.EmployeeProjection;
 import com.EMS.dao.PastEmployeeDAO;
-import com.EMS.dao.PositionDAO;
+import com.EMS.dao.RowHandler;
 import com.EMS.entity.Department;
 import com.EMS.entity.Employee;
 import com.EMS.entity.PastEmployee;
 import com.EMS.entity.Position;
+import com.EMS.events.ChangeFeed;
+import com.EMS.events.EmployeeChange;
+import com.EMS.util.ArchiveCursor;
+import com.EMS.util.ChangeToken;
+import com.EMS.util.DatabaseBusyException;
+import com.EMS.util.Page;
+import com.EMS.util.PageCursor;
+import com.EMS.util.StaleChangeTokenException;
+import com.EMS.util.UnitOfWork;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
 
 public class EmployeeService {
 
     private static final Logger logger = LoggerFactory.getLogger(EmployeeService.class);
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+    private static final int IMPORT_CHUNK_SIZE = 1000;
+    public static final int MAX_BULK_ARCHIVE = 5000;
+    private static final Pattern EMAIL = Pattern.compile("^[^\\s@]+@[^\\s@]+\\.[^\\s@]+$");
     private final EmployeeDAO employeeDAO = new EmployeeDAO();
     private final PastEmployeeDAO pastEmpDAO = new PastEmployeeDAO();
-    private final DepartmentDAO departmentDAO = new DepartmentDAO();
-    private final PositionDAO positionDAO = new PositionDAO();
+    private final ChangeLogDAO changeLogDAO = new ChangeLogDAO();
+    // The settle window must outlast the longest transaction allowed to write change rows.
+    private static final int CHANGES_SETTLE_SECONDS = Math.max(Integer.getInteger("ems.changes.settleSeconds", 60),
+            (int) (ChangeLogDAO.MAX_TRANSACTION_MS / 1000) + 1);
+    private final LookupCache lookupCache = LookupCache.getInstance();
+    private final DataVersion dataVersion = DataVersion.getInstance();
+    private final EmployeeStats stats = EmployeeStats.getInstance();
+    private final PayrollAggregates payroll = PayrollAggregates.getInstance();
+    private final ChangeFeed changeFeed = ChangeFeed.getInstance();
 
     public Employee createEmployee(Employee employee) {
-        if (employeeDAO.emailExists(employee.getEmail(), null))
-            throw new IllegalArgumentException("An employee with email '" + employee.getEmail() + "' already exists.");
-        Department dept = departmentDAO.findById(employee.getDepartment().getDepartmentId())
-                .orElseThrow(() -> new IllegalArgumentException("Department not found."));
-        Position pos = positionDAO.findById(employee.getPosition().getPositionId())
-                .orElseThrow(() -> new IllegalArgumentException("Position not found."));
+        return UnitOfWork.inTransaction(() -> {
+            if (employeeDAO.emailExists(employee.getEmail(), null))
+                throw new IllegalArgumentException("An employee with email '" + employee.getEmail() + "' already exists.");
+            Department dept = lookupCache.findDepartment(employee.getDepartment().getDepartmentId())
+                    .orElseThrow(() -> new IllegalArgumentException("Department not found."));
+            Position pos = lookupCache.findPosition(employee.getPosition().getPositionId())
+                    .orElseThrow(() -> new IllegalArgumentException("Position not found."));
+            employee.setDepartment(dept);
+            employee.setPosition(pos);
+            Employee saved = employeeDAO.save(employee);
+            UnitOfWork.afterCommit(dataVersion::employeesChanged);
+            UnitOfWork.afterCommit(() -> stats.employeeAdded(saved));
+            UnitOfWork.afterCommit(() -> payroll.employeeAdded(saved));
+            UnitOfWork.afterCommit(() -> publishCreated(saved));
+            return saved;
+        });
+    }
+
+    public EmployeeImport.Report importEmployees(Iterator<EmployeeImport.Row> rows) {
+        EmployeeImport.Report report = new EmployeeImport.Report();
+        LookupCache.Snapshot lookups = lookupCache.snapshot();
+        Set<String> seenEmails = new HashSet<>();
+        List<EmployeeImport.Row> chunk = new ArrayList<>(IMPORT_CHUNK_SIZE);
+        while (rows.hasNext()) {
+            EmployeeImport.Row row = rows.next();
+            report.seen();
+            String error = row.getError() != null ? row.getError() : validateImport(row.getEmployee(), lookups);
+            if (error == null && !seenEmails.add(row.getEmployee().getEmail().toLowerCase()))
+                error = "Duplicate email '" + row.getEmployee().getEmail() + "' in import.";
+            if (error != null) {
+                report.failed(row.getLine(), error);
+                continue;
+            }
+            chunk.add(row);
+            if (chunk.size() == IMPORT_CHUNK_SIZE) {
+                importChunk(chunk, report);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) importChunk(chunk, report);
+        logger.info("Bulk import finished: {} of {} rows imported", report.getImported(), report.getTotal());
+        return report;
+    }
+
+    private void importChunk(List<EmployeeImport.Row> chunk, EmployeeImport.Report report) {
+        List<String> emails = new ArrayList<>(chunk.size());
+        for (EmployeeImport.Row row : chunk) emails.add(row.getEmployee().getEmail());
+        try {
+            UnitOfWork.inTransaction(() -> saveChunk(chunk, emails, report));
+        } catch (RuntimeException e) {
+            // A busy database fails the whole import with 503 rather than one row at a time.
+            if (DatabaseBusyException.isCause(e)) throw e;
+            // One bad row rolls back the whole batch; retry it row by row so only that row is reported.
+            // Nothing from the failed unit was reported, so every row of the chunk is retried.
+            logger.warn("Import batch of {} rows rejected, retrying row by row", chunk.size(), e);
+            for (EmployeeImport.Row row : chunk) {
+                try {
+                    UnitOfWork.inTransaction(() -> saveChunk(List.of(row), List.of(row.getEmployee().getEmail()), report));
+                } catch (RuntimeException rowError) {
+                    if (DatabaseBusyException.isCause(rowError)) throw rowError;
+                    String cause = rowError.getCause() != null ? rowError.getCause().getMessage() : rowError.getMessage();
+                    report.failed(row.getLine(), "Row rejected: " + cause);
+                }
+            }
+        }
+    }
+
+    private void saveChunk(List<EmployeeImport.Row> chunk, List<String> emails, EmployeeImport.Report report) {
+        Set<String> existing = employeeDAO.findExistingEmails(emails);
+        List<Employee> batch = new ArrayList<>(chunk.size());
+        List<EmployeeImport.Row> duplicates = new ArrayList<>();
+        for (EmployeeImport.Row row : chunk) {
+            if (existing.contains(row.getEmployee().getEmail().toLowerCase())) duplicates.add(row);
+            else batch.add(row.getEmployee());
+        }
+        // Reported only once the unit commits, so a rolled-back chunk can be retried without double counting.
+        UnitOfWork.afterCommit(() -> duplicates.forEach(row -> report.failed(row.getLine(),
+                "An employee with email '" + row.getEmployee().getEmail() + "' already exists.")));
+        if (batch.isEmpty()) return;
+        employeeDAO.saveBatch(batch);
+        UnitOfWork.afterCommit(() -> report.accepted(batch.size()));
+        UnitOfWork.afterCommit(dataVersion::employeesChanged);
+        UnitOfWork.afterCommit(() -> batch.forEach(stats::employeeAdded));
+        UnitOfWork.afterCommit(() -> batch.forEach(payroll::employeeAdded));
+        UnitOfWork.afterCommit(() -> batch.forEach(this::publishCreated));
+    }
+
+    private String validateImport(Employee employee, LookupCache.Snapshot lookups) {
+        if (isBlank(employee.getFirstName())) return "First name is required.";
+        if (employee.getFirstName().length() > 100) return "First name must be at most 100 characters.";
+        if (isBlank(employee.getLastName())) return "Last name is required.";
+        if (employee.getLastName().length() > 100) return "Last name must be at most 100 characters.";
+        if (isBlank(employee.getEmail()) || !EMAIL.matcher(employee.getEmail()).matches())
+            return "A valid email is required.";
+        if (employee.getEmail().length() > 150) return "Email must be at most 150 characters.";
+        if (employee.getPhone() != null && employee.getPhone().length() > 20)
+            return "Phone must be at most 20 characters.";
+        if (employee.getHireDate() == null) return "Hire date is required.";
+        if (employee.getHireDate().isAfter(LocalDate.now())) return "Hire date cannot be in the future.";
+        if (employee.getSalary() == null || employee.getSalary().signum() < 0) return "Salary must be zero or more.";
+        if (employee.getSalary().setScale(2, RoundingMode.HALF_UP).precision() > 12)
+            return "Salary must be less than 10000000000.";
+        if (employee.getDepartment() == null) return "Department is required.";
+        if (employee.getPosition() == null) return "Position is required.";
+        Department dept = lookups.findDepartment(employee.getDepartment().getDepartmentId());
+        if (dept == null) return "Department not found.";
+        Position pos = lookups.findPosition(employee.getPosition().getPositionId());
+        if (pos == null) return "Position not found.";
         employee.setDepartment(dept);
         employee.setPosition(pos);
-        return employeeDAO.save(employee);
+        return null;
     }
 
-    public List<Employee> getAllEmployees() {
-        return employeeDAO.findAll();
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    public List<Employee> getAllEmployees(EmployeeProjection projection) {
+        return employeeDAO.findAll(projection);
+    }
+
+    public Page<Employee> getEmployeePage(String cursor, Integer limit, EmployeeProjection projection) {
+        return employeeDAO.findPage(PageCursor.decode(cursor), pageSize(limit), projection);
     }
 
     public Employee getEmployeeById(int id) {
-        return employeeDAO.findById(id)
+        return getEmployeeById(id, EmployeeProjection.ALL);
+    }
+
+    public Employee getEmployeeById(int id, EmployeeProjection projection) {
+        return employeeDAO.findById(id, projection)
                 .orElseThrow(() -> new IllegalArgumentException("Employee with id=" + id + " not found."));
     }
 
-    public List<Employee> searchEmployees(String name, String department, String position, LocalDate hireDate) {
-        return employeeDAO.search(name, department, position, hireDate);
+    public List<Employee> searchEmployees(String name, String department, String position, LocalDate hireDate,
+                                          EmployeeProjection projection) {
+        return employeeDAO.search(name, department, position, hireDate, projection);
+    }
+
+    public Page<Employee> searchEmployees(String name, String department, String position, LocalDate hireDate,
+                                          String cursor, Integer limit, EmployeeProjection projection) {
+        return employeeDAO.search(name, department, position, hireDate, PageCursor.decode(cursor), pageSize(limit),
+                projection);
+    }
+
+    public int streamEmployees(String name, String department, String position, LocalDate hireDate,
+                               EmployeeProjection projection, RowHandler<? super Employee> handler) {
+        return employeeDAO.stream(name, department, position, hireDate, projection, handler);
+    }
+
+    private int pageSize(Integer limit) {
+        if (limit == null) return DEFAULT_PAGE_SIZE;
+        if (limit < 1) throw new IllegalArgumentException("limit must be at least 1.");
+        return Math.min(limit, MAX_PAGE_SIZE);
     }
 
     public Employee updateEmployee(int id, Employee updatedData) {
-        Employee existing = getEmployeeById(id);
-        if (!existing.getEmail().equalsIgnoreCase(updatedData.getEmail())
-                && employeeDAO.emailExists(updatedData.getEmail(), id))
-            throw new IllegalArgumentException("Email '" + updatedData.getEmail() + "' is already used.");
-        Department dept = departmentDAO.findById(updatedData.getDepartment().getDepartmentId())
-                .orElseThrow(() -> new IllegalArgumentException("Department not found."));
-        Position pos = positionDAO.findById(updatedData.getPosition().getPositionId())
-                .orElseThrow(() -> new IllegalArgumentException("Position not found."));
-        existing.setFirstName(updatedData.getFirstName());
-        existing.setLastName(updatedData.getLastName());
-        existing.setEmail(updatedData.getEmail());
-        existing.setPhone(updatedData.getPhone());
-        existing.setDepartment(dept);
-        existing.setPosition(pos);
-        existing.setHireDate(updatedData.getHireDate());
-        existing.setSalary(updatedData.getSalary());
-        return employeeDAO.update(existing);
+        return UnitOfWork.inTransaction(() -> {
+            Employee existing = employeeDAO.findByIdForUpdate(id)
+                    .orElseThrow(() -> new IllegalArgumentException("Employee with id=" + id + " not found."));
+            Integer previousDepartmentId = existing.getDepartment().getDepartmentId();
+            Integer previousPositionId = existing.getPosition().getPositionId();
+            BigDecimal previousSalary = existing.getSalary();
+            Map<String, Object> before = EmployeeChange.fieldsOf(existing);
+            if (!existing.getEmail().equalsIgnoreCase(updatedData.getEmail())
+                    && employeeDAO.emailExists(updatedData.getEmail(), id))
+                throw new IllegalArgumentException("Email '" + updatedData.getEmail() + "' is already used.");
+            Department dept = lookupCache.findDepartment(updatedData.getDepartment().getDepartmentId())
+                    .orElseThrow(() -> new IllegalArgumentException("Department not found."));
+            Position pos = lookupCache.findPosition(updatedData.getPosition().getPositionId())
+                    .orElseThrow(() -> new IllegalArgumentException("Position not found."));
+            existing.setFirstName(updatedData.getFirstName());
+            existing.setLastName(updatedData.getLastName());
+            existing.setEmail(updatedData.getEmail());
+            existing.setPhone(updatedData.getPhone());
+            existing.setDepartment(dept);
+            existing.setPosition(pos);
+            existing.setHireDate(updatedData.getHireDate());
+            existing.setSalary(updatedData.getSalary());
+            Employee updated = employeeDAO.update(existing);
+            UnitOfWork.afterCommit(dataVersion::employeesChanged);
+            UnitOfWork.afterCommit(() -> stats.employeeUpdated(previousDepartmentId, updated));
+            UnitOfWork.afterCommit(() -> payroll.employeeUpdated(previousDepartmentId, previousPositionId,
+                    previousSalary, updated));
+            Map<String, Object> changed = EmployeeChange.diff(before, EmployeeChange.fieldsOf(updated));
+            UnitOfWork.afterCommit(() -> changeFeed.publish(EmployeeChange.Type.UPDATED, id, changed));
+            return updated;
+        });
     }
 
     public PastEmployee archiveEmployee(int id, String reason) {
-        Employee employee = getEmployeeById(id);
-        PastEmployee archive = PastEmployee.from(employee,
-                (reason != null && !reason.isBlank()) ? reason : "Removed by administrator");
-        PastEmployee saved = pastEmpDAO.save(archive);
-        logger.info("Employee {} archived (archive id={})", employee.getFullName(), saved.getPastEmployeeId());
-        employeeDAO.deleteById(id);
-        return saved;
+        return UnitOfWork.inTransaction(() -> {
+            List<PastEmployee> archived = pastEmpDAO.archive(List.of(id), archiveReason(reason));
+            if (archived.isEmpty())
+                throw new IllegalArgumentException("Employee with id=" + id + " not found.");
+            PastEmployee saved = archived.get(0);
+            logger.info("Employee {} archived (archive id={})", saved.getFullName(), saved.getPastEmployeeId());
+            UnitOfWork.afterCommit(dataVersion::employeesChanged);
+            UnitOfWork.afterCommit(dataVersion::pastEmployeesChanged);
+            UnitOfWork.afterCommit(() -> stats.employeesArchived(archived));
+            UnitOfWork.afterCommit(() -> payroll.employeesArchived(archived));
+            UnitOfWork.afterCommit(() -> publishArchived(archived));
+            return saved;
+        });
+    }
+
+    public List<PastEmployee> archiveEmployees(Collection<Integer> ids, Integer departmentId, Integer positionId,
+                                               String reason) {
+        return UnitOfWork.inTransaction(() -> {
+            Collection<Integer> targets = ids;
+            if (targets == null || targets.isEmpty()) {
+                if (departmentId == null && positionId == null)
+                    throw new IllegalArgumentException("Provide employee ids or a departmentId/positionId filter.");
+                targets = employeeDAO.findActiveIds(departmentId, positionId, MAX_BULK_ARCHIVE + 1);
+            }
+            if (targets.size() > MAX_BULK_ARCHIVE)
+                throw new IllegalArgumentException("At most " + MAX_BULK_ARCHIVE + " employees can be archived per request.");
+            List<PastEmployee> archived = pastEmpDAO.archive(new LinkedHashSet<>(targets), archiveReason(reason));
+            logger.info("Bulk archive moved {} of {} requested employees", archived.size(), targets.size());
+            if (!archived.isEmpty()) {
+                UnitOfWork.afterCommit(dataVersion::employeesChanged);
+                UnitOfWork.afterCommit(dataVersion::pastEmployeesChanged);
+                UnitOfWork.afterCommit(() -> stats.employeesArchived(archived));
+                UnitOfWork.afterCommit(() -> payroll.employeesArchived(archived));
+                UnitOfWork.afterCommit(() -> publishArchived(archived));
+            }
+            return archived;
+        });
+    }
+
+    private void publishCreated(Employee employee) {
+        changeFeed.publish(EmployeeChange.Type.CREATED, employee.getEmployeeId(), EmployeeChange.fieldsOf(employee));
+    }
+
+    private void publishArchived(List<PastEmployee> archived) {
+        for (PastEmployee pastEmployee : archived) {
+            changeFeed.publish(EmployeeChange.Type.ARCHIVED, pastEmployee.getOriginalEmployeeId(),
+                    Map.of("pastEmployeeId", pastEmployee.getPastEmployeeId()));
+        }
+    }
+
+    private String archiveReason(String reason) {
+        return (reason != null && !reason.isBlank()) ? reason : "Removed by administrator";
+    }
+
+    public EmployeeStats.Snapshot getStats(Integer recent) {
+        int limit = recent != null ? recent : 5;
+        if (limit < 0 || limit > EmployeeStats.MAX_RECENT)
+            throw new IllegalArgumentException("recent must be between 0 and " + EmployeeStats.MAX_RECENT + ".");
+        return stats.snapshot(limit);
+    }
+
+    public Map<String, Object> getChanges(String since, Integer limit) {
+        Long after = ChangeToken.decode(since);
+        Map<String, Object> result = new LinkedHashMap<>();
+        if (after == null) {
+            result.put("changes", List.of());
+            result.put("tombstones", List.of());
+            result.put("next", ChangeToken.encode(changeLogDAO.findHead(0, CHANGES_SETTLE_SECONDS)));
+            result.put("hasMore", false);
+            return result;
+        }
+        if (after < changeLogDAO.findFloor())
+            throw new StaleChangeTokenException("Changes since this token are no longer kept; reload and sync again.");
+        // Rows committed out of id order can land behind the head, so every page stops at the settled head.
+        long head = changeLogDAO.findHead(after, CHANGES_SETTLE_SECONDS);
+        ChangeLogDAO.ChangeSet changes = changeLogDAO.findSince(after, head, pageSize(limit));
+        long next = changes.isHasMore() ? Math.min(changes.getLastChangeId(), head) : head;
+        result.put("changes", changes.getUpserts());
+        result.put("tombstones", changes.getTombstones());
+        result.put("next", ChangeToken.encode(next));
+        result.put("hasMore", changes.isHasMore());
+        return result;
+    }
+
+    public String getEmployeesVersion() {
+        return dataVersion.employees();
+    }
+
+    public String getPastEmployeesVersion() {
+        return dataVersion.pastEmployees();
     }
 
     public List<PastEmployee> getAllPastEmployees() {
         return pastEmpDAO.findAll();
     }
 
+    public Page<PastEmployee> getPastEmployeePage(LocalDate from, LocalDate to, Integer departmentId, String reason,
+                                                  String cursor, Integer limit) {
+        checkRange(from, to);
+        return pastEmpDAO.findPage(from, to, departmentId, reason, ArchiveCursor.decode(cursor), pageSize(limit));
+    }
+
+    public int streamPastEmployees(LocalDate from, LocalDate to, Integer departmentId, String reason,
+                                   RowHandler<? super PastEmployee> handler) {
+        return pastEmpDAO.stream(from, to, departmentId, reason, handler);
+    }
+
+    private static void checkRange(LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to))
+            throw new IllegalArgumentException("from must not be after to.");
+    }
+
     public PastEmployee getPastEmployeeById(int id) {
         return pastEmpDAO.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Past employee with id=" + id + " not found."));
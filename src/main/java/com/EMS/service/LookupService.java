@@ -1,7 +1,6 @@
 package com.EMS.service;
 
-import com.EMS.dao.DepartmentDAO;
-import com.EMS.dao.PositionDAO;
+import com.EMS.cache.LookupCache;
 import com.EMS.entity.Department;
 import com.EMS.entity.Position;
 
@@ -9,14 +8,26 @@ import java.util.List;
 
 public class LookupService {
 
-    private final DepartmentDAO deptDAO = new DepartmentDAO();
-    private final PositionDAO posDAO = new PositionDAO();
+    private final LookupCache lookupCache = LookupCache.getInstance();
 
     public List<Department> getAllDepartments() {
-        return deptDAO.findAll();
+        return lookupCache.getDepartments();
     }
 
     public List<Position> getAllPositions() {
-        return posDAO.findAll();
+        return lookupCache.getPositions();
     }
-}
\ No newline at end of file
+
+    public int getDepartmentsFingerprint() {
+        return lookupCache.snapshot().getDepartmentsFingerprint();
+    }
+
+    public int getPositionsFingerprint() {
+        return lookupCache.snapshot().getPositionsFingerprint();
+    }
+
+    public long refresh() {
+        lookupCache.invalidate();
+        return lookupCache.getVersion();
+    }
+}
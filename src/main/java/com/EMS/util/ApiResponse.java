@@ -2,6 +2,8 @@ package com.EMS.util;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 
+import java.util.List;
+
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class ApiResponse<T> {
 
@@ -9,6 +11,7 @@ public class ApiResponse<T> {
     private String message;
     private T data;
     private Object errors;
+    private String next;
 
     public static <T> ApiResponse<T> success(String message, T data) {
         ApiResponse<T> r = new ApiResponse<>();
@@ -22,6 +25,12 @@ public class ApiResponse<T> {
         return success("OK", data);
     }
 
+    public static <T> ApiResponse<List<T>> page(Page<T> page) {
+        ApiResponse<List<T>> r = success("OK", page.getItems());
+        r.next = page.getNext();
+        return r;
+    }
+
     public static <T> ApiResponse<T> error(String message) {
         ApiResponse<T> r = new ApiResponse<>();
         r.success = false;
@@ -52,4 +61,8 @@ public class ApiResponse<T> {
     public Object getErrors() {
         return errors;
     }
+
+    public String getNext() {
+        return next;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.EMS.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+public class ArchiveCursor {
+
+    private static final char SEPARATOR = '\u001F';
+
+    private final LocalDate terminationDate;
+    private final int pastEmployeeId;
+
+    public ArchiveCursor(LocalDate terminationDate, int pastEmployeeId) {
+        this.terminationDate = terminationDate;
+        this.pastEmployeeId = pastEmployeeId;
+    }
+
+    public static ArchiveCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) throw new IllegalArgumentException("Invalid cursor.");
+            return new ArchiveCursor(LocalDate.parse(raw.substring(0, separator)),
+                    Integer.parseInt(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor.", e);
+        }
+    }
+
+    public String encode() {
+        String raw = terminationDate.toString() + SEPARATOR + pastEmployeeId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDate getTerminationDate() {
+        return terminationDate;
+    }
+
+    public int getPastEmployeeId() {
+        return pastEmployeeId;
+    }
+}
@@ -0,0 +1,30 @@
+package com.EMS.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public class ChangeToken {
+
+    private static final String PREFIX = "c1:";
+
+    private ChangeToken() {
+    }
+
+    public static Long decode(String token) {
+        if (token == null || token.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) throw new IllegalArgumentException("Invalid change token.");
+            long changeId = Long.parseLong(raw.substring(PREFIX.length()));
+            if (changeId < 0) throw new IllegalArgumentException("Invalid change token.");
+            return changeId;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid change token.", e);
+        }
+    }
+
+    public static String encode(long changeId) {
+        String raw = PREFIX + changeId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
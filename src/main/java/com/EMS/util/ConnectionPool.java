@@ -0,0 +1,86 @@
+package com.EMS.util;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.Properties;
+
+public class ConnectionPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionPool.class);
+    private static final String DEFAULTS = "db.properties";
+
+    private ConnectionPool() {
+    }
+
+    public static HikariDataSource create(Properties hibernateSettings) {
+        Properties defaults = loadDefaults();
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("ems-pool");
+        config.setDriverClassName(setting("driver", hibernateSettings.getProperty("hibernate.connection.driver_class"), defaults));
+        config.setJdbcUrl(setting("url", hibernateSettings.getProperty("hibernate.connection.url"), defaults));
+        config.setUsername(setting("username", hibernateSettings.getProperty("hibernate.connection.username"), defaults));
+        config.setPassword(setting("password", hibernateSettings.getProperty("hibernate.connection.password"), defaults));
+
+        config.setMinimumIdle(intSetting("pool.minIdle", defaults, 10));
+        config.setMaximumPoolSize(intSetting("pool.maxSize", defaults, 20));
+        config.setConnectionTimeout(intSetting("pool.connectionTimeoutMs", defaults, 3000));
+        config.setIdleTimeout(intSetting("pool.idleTimeoutMs", defaults, 600000));
+        config.setMaxLifetime(intSetting("pool.maxLifetimeMs", defaults, 1800000));
+        config.setKeepaliveTime(intSetting("pool.keepaliveMs", defaults, 120000));
+        config.setLeakDetectionThreshold(intSetting("pool.leakDetectionMs", defaults, 30000));
+        // Start even when the database is down; connections are opened once it is reachable.
+        config.setInitializationFailTimeout(-1);
+
+        config.addDataSourceProperty("cachePrepStmts", "true");
+        config.addDataSourceProperty("prepStmtCacheSize", "250");
+        config.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+        config.addDataSourceProperty("useServerPrepStmts", "true");
+        config.addDataSourceProperty("rewriteBatchedStatements", "true");
+        config.addDataSourceProperty("useLocalSessionState", "true");
+        config.addDataSourceProperty("cacheResultSetMetadata", "true");
+        config.addDataSourceProperty("cacheServerConfiguration", "true");
+        config.addDataSourceProperty("maintainTimeStats", "false");
+
+        config.setMetricsTrackerFactory(PoolMetrics.getInstance());
+
+        HikariDataSource dataSource = new HikariDataSource(config);
+        logger.info("Connection pool started: min={} max={} url={}",
+                config.getMinimumIdle(), config.getMaximumPoolSize(), config.getJdbcUrl());
+        return dataSource;
+    }
+
+    private static String setting(String key, String fallback, Properties defaults) {
+        String value = System.getProperty("ems.db." + key);
+        if (value == null) value = System.getenv("EMS_DB_" + key.replace('.', '_').toUpperCase(Locale.ROOT));
+        if (value == null) value = fallback;
+        if (value == null) value = defaults.getProperty(key);
+        return value;
+    }
+
+    private static int intSetting(String key, Properties defaults, int fallback) {
+        String value = setting(key, null, defaults);
+        if (value == null || value.isBlank()) return fallback;
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Ignoring invalid pool setting {}={}", key, value);
+            return fallback;
+        }
+    }
+
+    private static Properties loadDefaults() {
+        Properties properties = new Properties();
+        try (InputStream in = ConnectionPool.class.getClassLoader().getResourceAsStream(DEFAULTS)) {
+            if (in != null) properties.load(in);
+        } catch (IOException e) {
+            logger.warn("Could not read {}", DEFAULTS, e);
+        }
+        return properties;
+    }
+}
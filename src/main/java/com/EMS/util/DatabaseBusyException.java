@@ -0,0 +1,16 @@
+package com.EMS.util;
+
+// Thrown when no JDBC permit frees up within ems.db.limiterTimeoutMs; answered as 503 with Retry-After.
+public class DatabaseBusyException extends RuntimeException {
+
+    public DatabaseBusyException(String message) {
+        super(message);
+    }
+
+    public static boolean isCause(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DatabaseBusyException) return true;
+        }
+        return false;
+    }
+}
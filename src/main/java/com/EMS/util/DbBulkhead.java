@@ -0,0 +1,195 @@
+package com.EMS.util;
+
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+public class DbBulkhead {
+
+    public enum Lane { READ, WRITE, AUTH }
+
+    private static final Logger logger = LoggerFactory.getLogger(DbBulkhead.class);
+    private static final DbBulkhead INSTANCE = new DbBulkhead();
+
+    private final String retryAfter = System.getProperty("ems.bulkhead.retryAfterSeconds", "2");
+    // With virtual request threads the lanes run each task on its own virtual thread, bounded by a semaphore.
+    private final boolean virtual = "virtual".equalsIgnoreCase(System.getProperty("ems.server.threads", "platform"));
+    private final Map<Lane, LaneExecutor> lanes = new EnumMap<>(Lane.class);
+
+    private DbBulkhead() {
+        // The default lane sizes add up to the connection pool so lanes never wait on each other for a connection.
+        int pool = HibernateUtil.getMaximumPoolSize();
+        int authThreads = Integer.getInteger("ems.bulkhead.auth.threads", Math.max(1, Math.min(2, pool / 8)));
+        int writeThreads = Integer.getInteger("ems.bulkhead.write.threads", Math.max(1, pool / 4));
+        int readThreads = Integer.getInteger("ems.bulkhead.read.threads", Math.max(1, pool - writeThreads - authThreads));
+        lanes.put(Lane.READ, new LaneExecutor(Lane.READ, virtual, readThreads,
+                Integer.getInteger("ems.bulkhead.read.queue", readThreads * 10),
+                Long.getLong("ems.bulkhead.read.timeoutMs", 10000L)));
+        lanes.put(Lane.WRITE, new LaneExecutor(Lane.WRITE, virtual, writeThreads,
+                Integer.getInteger("ems.bulkhead.write.queue", writeThreads * 10),
+                Long.getLong("ems.bulkhead.write.timeoutMs", 30000L)));
+        // Logins get their own small lane so a read backlog cannot lock users out, and vice versa.
+        lanes.put(Lane.AUTH, new LaneExecutor(Lane.AUTH, virtual, authThreads,
+                Integer.getInteger("ems.bulkhead.auth.queue", authThreads * 10),
+                Long.getLong("ems.bulkhead.auth.timeoutMs", 5000L)));
+    }
+
+    public static DbBulkhead getInstance() {
+        return INSTANCE;
+    }
+
+    public void submit(Lane lane, AsyncResponse async, Supplier<Response> work) {
+        LaneExecutor executor = lanes.get(lane);
+        submit(executor, async, executor.timeoutMs, work);
+    }
+
+    public void submit(Lane lane, AsyncResponse async, long timeoutMs, Supplier<Response> work) {
+        submit(lanes.get(lane), async, timeoutMs, work);
+    }
+
+    private void submit(LaneExecutor executor, AsyncResponse async, long timeoutMs, Supplier<Response> work) {
+        RequestDeadline deadline = new RequestDeadline(timeoutMs);
+        async.setTimeoutHandler(response -> {
+            executor.timedOut.increment();
+            deadline.cancel();
+            response.resume(unavailable("Request timed out, please retry shortly."));
+        });
+        async.setTimeout(timeoutMs, TimeUnit.MILLISECONDS);
+        try {
+            executor.execute(() -> {
+                if (async.isDone() || deadline.isExpired()) return;
+                Response response;
+                try {
+                    response = deadline.run(work);
+                    if (deadline.isBusy() && response.getStatus() >= 500) response = databaseBusy(executor);
+                } catch (RuntimeException e) {
+                    if (DatabaseBusyException.isCause(e)) {
+                        response = databaseBusy(executor);
+                    } else {
+                        logger.error("Unhandled error in {} lane", executor.lane, e);
+                        response = Response.serverError().entity(ApiResponse.error("Unexpected server error.")).build();
+                    }
+                }
+                async.resume(response);
+            });
+        } catch (RejectedExecutionException e) {
+            executor.rejected.increment();
+            async.resume(unavailable("Server is busy, please retry shortly."));
+        }
+    }
+
+    private Response databaseBusy(LaneExecutor executor) {
+        executor.databaseBusy.increment();
+        return unavailable("Database is busy, please try again later.");
+    }
+
+    private Response unavailable(String message) {
+        return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, retryAfter)
+                .entity(ApiResponse.error(message)).build();
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (Map.Entry<Lane, LaneExecutor> lane : lanes.entrySet()) {
+            result.put(lane.getKey().name().toLowerCase(Locale.ROOT), lane.getValue().snapshot());
+        }
+        return result;
+    }
+
+    private static class LaneExecutor {
+
+        private final Lane lane;
+        private final int threads;
+        private final int queue;
+        private final long timeoutMs;
+        private final ThreadPoolExecutor pool;
+        private final ExecutorService virtualThreads;
+        private final Semaphore admitted;
+        private final Semaphore running;
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder timedOut = new LongAdder();
+        private final LongAdder databaseBusy = new LongAdder();
+
+        LaneExecutor(Lane lane, boolean virtual, int threads, int queue, long timeoutMs) {
+            this.lane = lane;
+            this.threads = threads;
+            this.queue = queue;
+            this.timeoutMs = timeoutMs;
+            String prefix = "db-" + lane.name().toLowerCase(Locale.ROOT) + "-";
+            if (virtual) {
+                this.pool = null;
+                this.virtualThreads = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(prefix, 1).factory());
+                this.admitted = new Semaphore(threads + queue);
+                this.running = new Semaphore(threads, true);
+            } else {
+                AtomicInteger counter = new AtomicInteger();
+                this.pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                        new ArrayBlockingQueue<>(queue), runnable -> {
+                            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+                this.virtualThreads = null;
+                this.admitted = null;
+                this.running = null;
+            }
+            logger.info("Bulkhead {} lane: {} {} threads, queue {}, timeout {} ms", lane, threads,
+                    virtual ? "virtual" : "platform", queue, timeoutMs);
+        }
+
+        void execute(Runnable task) {
+            if (pool != null) {
+                pool.execute(task);
+                return;
+            }
+            if (!admitted.tryAcquire()) throw new RejectedExecutionException(lane + " lane is full");
+            virtualThreads.execute(() -> {
+                try {
+                    running.acquireUninterruptibly();
+                    try {
+                        task.run();
+                    } finally {
+                        running.release();
+                    }
+                } finally {
+                    admitted.release();
+                }
+            });
+        }
+
+        Map<String, Object> snapshot() {
+            int active = pool != null ? pool.getActiveCount() : threads - running.availablePermits();
+            int queued = pool != null ? pool.getQueue().size()
+                    : Math.max(0, threads + queue - admitted.availablePermits() - active);
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("threads", threads);
+            result.put("virtual", pool == null);
+            result.put("active", active);
+            result.put("queued", queued);
+            result.put("queueCapacity", queue);
+            result.put("rejected", rejected.sum());
+            result.put("timedOut", timedOut.sum());
+            result.put("databaseBusy", databaseBusy.sum());
+            result.put("timeoutMs", timeoutMs);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.EMS.util;
+
+import com.EMS.entity.Employee;
+import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.MediaType;
+
+import java.time.ZoneOffset;
+import java.util.Objects;
+
+public class ETags {
+
+    private ETags() {
+    }
+
+    public static CacheControl revalidate() {
+        CacheControl cacheControl = new CacheControl();
+        cacheControl.setPrivate(true);
+        cacheControl.setNoCache(true);
+        cacheControl.setNoTransform(false);
+        return cacheControl;
+    }
+
+    public static EntityTag collection(String name, String version) {
+        return new EntityTag(name + "-" + version);
+    }
+
+    public static EntityTag collection(String name, int fingerprint) {
+        return new EntityTag(name + "-" + Integer.toHexString(fingerprint));
+    }
+
+    // Binary encodings of a resource are different representations and need their own validator.
+    public static EntityTag variant(EntityTag tag, MediaType type) {
+        if (type == null || type.isCompatible(MediaType.APPLICATION_JSON_TYPE)) return tag;
+        return new EntityTag(tag.getValue() + "-" + type.getSubtype(), tag.isWeak());
+    }
+
+    public static EntityTag of(Employee employee) {
+        long updated = employee.getUpdatedAt() != null
+                ? employee.getUpdatedAt().toEpochSecond(ZoneOffset.UTC) : 0L;
+        // updated_at has second precision; the field hash separates edits made within the same second.
+        int fields = Objects.hash(employee.getFirstName(), employee.getLastName(), employee.getEmail(),
+                employee.getPhone(), employee.getHireDate(), employee.getSalary(),
+                employee.getDepartment() != null ? employee.getDepartment().getDepartmentId() : null,
+                employee.getPosition() != null ? employee.getPosition().getPositionId() : null);
+        return new EntityTag("emp-" + employee.getEmployeeId() + "-" + Long.toString(updated, 36)
+                + "-" + Integer.toHexString(fields));
+    }
+
+    public static EntityTag pastEmployee(int id) {
+        return new EntityTag("past-" + id);
+    }
+}
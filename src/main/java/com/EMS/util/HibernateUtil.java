@@ -1,6 +1,14 @@
 package com.EMS.util;
 
+import com.EMS.entity.Department;
+import com.EMS.entity.Employee;
+import com.EMS.entity.EmployeeChangeLog;
+import com.EMS.entity.PastEmployee;
+import com.EMS.entity.Position;
+import com.EMS.entity.User;
+import com.zaxxer.hikari.HikariDataSource;
 import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
 import org.hibernate.cfg.Configuration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -8,27 +16,65 @@ import org.slf4j.LoggerFactory;
 public class HibernateUtil {
 
     private static final Logger logger = LoggerFactory.getLogger(HibernateUtil.class);
-    private static final SessionFactory SESSION_FACTORY = buildSessionFactory();
+    private static final String CONFIG = "hibernate.cfg.xml";
+    private static HikariDataSource dataSource;
+    // Built on first use and retried after a failure, so a database that is down at boot does not
+    // leave the class unusable for the life of the process.
+    private static volatile SessionFactory sessionFactory;
 
     private HibernateUtil() {
     }
 
     private static SessionFactory buildSessionFactory() {
         try {
-            return new Configuration().configure("hibernate.cfg.xml").buildSessionFactory();
+            Configuration configuration = configuration();
+            configuration.getProperties().put(AvailableSettings.DATASOURCE, getDataSource());
+            return configuration.buildSessionFactory();
         } catch (Exception exception) {
-            logger.error("Failed to build Hibernate SessionFactory", exception);
-            throw new ExceptionInInitializerError(exception);
+            logger.error("Failed to build Hibernate SessionFactory; retrying on next use", exception);
+            throw new IllegalStateException("Failed to build Hibernate SessionFactory", exception);
         }
     }
 
+    private static Configuration configuration() {
+        Configuration configuration = new Configuration();
+        if (HibernateUtil.class.getClassLoader().getResource(CONFIG) != null) {
+            configuration.configure(CONFIG);
+        } else {
+            configuration.addAnnotatedClass(Department.class)
+                    .addAnnotatedClass(Position.class)
+                    .addAnnotatedClass(Employee.class)
+                    .addAnnotatedClass(EmployeeChangeLog.class)
+                    .addAnnotatedClass(PastEmployee.class)
+                    .addAnnotatedClass(User.class);
+        }
+        return configuration;
+    }
+
+    private static synchronized HikariDataSource getDataSource() {
+        if (dataSource == null) dataSource = ConnectionPool.create(configuration().getProperties());
+        return dataSource;
+    }
+
     public static SessionFactory getSessionFactory() {
-        return SESSION_FACTORY;
+        SessionFactory factory = sessionFactory;
+        if (factory != null) return factory;
+        synchronized (HibernateUtil.class) {
+            if (sessionFactory == null) sessionFactory = buildSessionFactory();
+            return sessionFactory;
+        }
+    }
+
+    public static int getMaximumPoolSize() {
+        return getDataSource().getMaximumPoolSize();
     }
 
-    public static void shutdown() {
-        if (SESSION_FACTORY != null && !SESSION_FACTORY.isClosed()) {
-            SESSION_FACTORY.close();
+    public static synchronized void shutdown() {
+        if (sessionFactory != null && !sessionFactory.isClosed()) {
+            sessionFactory.close();
+        }
+        if (dataSource != null && !dataSource.isClosed()) {
+            dataSource.close();
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,58 @@
+package com.EMS.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+public class JdbcLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(JdbcLimiter.class);
+    private static final JdbcLimiter INSTANCE = new JdbcLimiter();
+
+    private final int permits;
+    private final long timeoutMs;
+    private final Semaphore semaphore;
+
+    private JdbcLimiter() {
+        this.permits = Integer.getInteger("ems.db.maxConcurrency", HibernateUtil.getMaximumPoolSize());
+        this.timeoutMs = Long.getLong("ems.db.limiterTimeoutMs", 5000L);
+        this.semaphore = new Semaphore(permits);
+        logger.info("JDBC concurrency limited to {} (wait up to {} ms)", permits, timeoutMs);
+    }
+
+    public static JdbcLimiter getInstance() {
+        return INSTANCE;
+    }
+
+    public void acquire() {
+        boolean acquired;
+        try {
+            acquired = semaphore.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a database connection.", e);
+        }
+        if (!acquired) {
+            RequestDeadline.markBusy();
+            throw new DatabaseBusyException("Database is busy, please try again later.");
+        }
+    }
+
+    public void release() {
+        semaphore.release();
+    }
+
+    public int getPermits() {
+        return permits;
+    }
+
+    public int getAvailable() {
+        return semaphore.availablePermits();
+    }
+
+    public int getQueued() {
+        return semaphore.getQueueLength();
+    }
+}
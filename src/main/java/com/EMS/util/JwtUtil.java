@@ -2,6 +2,7 @@ package com.EMS.util;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -19,6 +20,8 @@ public class JwtUtil {
     private static final String SECRET = "EmployeeCRUDAppSecretKeyWhichMustBeAtLeast256BitsLong!";
     private static final long EXPIRY_MS = 8 * 60 * 60 * 1000L;
     private static final Key SIGNING_KEY = Keys.hmacShaKeyFor(SECRET.getBytes());
+    private static final JwtParser PARSER = Jwts.parserBuilder().setSigningKey(SIGNING_KEY).build();
+    private static final TokenCache TOKEN_CACHE = TokenCache.getInstance();
 
     private JwtUtil() {
     }
@@ -36,11 +39,19 @@ public class JwtUtil {
     }
 
     public static Claims validateToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(SIGNING_KEY)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return PARSER.parseClaimsJws(token).getBody();
+    }
+
+    public static TokenCache.AuthenticatedUser authenticate(String token) {
+        TokenCache.AuthenticatedUser cached = TOKEN_CACHE.get(token);
+        if (cached != null) return cached;
+        Claims claims = validateToken(token);
+        Date expiration = claims.getExpiration();
+        long expiresAt = expiration != null ? expiration.getTime() : System.currentTimeMillis() + EXPIRY_MS;
+        TokenCache.AuthenticatedUser user = new TokenCache.AuthenticatedUser(
+                claims.getSubject(), (String) claims.get("role"), expiresAt);
+        TOKEN_CACHE.put(token, user);
+        return user;
     }
 
     public static String extractRole(String token) {
@@ -0,0 +1,123 @@
+package com.EMS.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LatencyHistogram {
+
+    private static final double[] DEFAULT_BOUNDS_MS =
+            {0.1, 0.25, 0.5, 1, 2.5, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000};
+
+    private final double[] boundsMs;
+    private final long[] boundsNanos;
+    private final LongAdder[] buckets;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sumNanos = new LongAdder();
+
+    public LatencyHistogram() {
+        this(DEFAULT_BOUNDS_MS);
+    }
+
+    public LatencyHistogram(double... boundsMs) {
+        this.boundsMs = boundsMs.clone();
+        this.boundsNanos = new long[boundsMs.length];
+        for (int i = 0; i < boundsMs.length; i++) boundsNanos[i] = (long) (boundsMs[i] * 1_000_000);
+        this.buckets = new LongAdder[boundsMs.length + 1];
+        for (int i = 0; i < buckets.length; i++) buckets[i] = new LongAdder();
+    }
+
+    public void recordNanos(long nanos) {
+        int i = 0;
+        while (i < boundsNanos.length && nanos > boundsNanos[i]) i++;
+        buckets[i].increment();
+        count.increment();
+        sumNanos.add(nanos);
+    }
+
+    public void recordMillis(long millis) {
+        recordNanos(millis * 1_000_000);
+    }
+
+    public Snapshot snapshot() {
+        long[] counts = new long[buckets.length];
+        for (int i = 0; i < buckets.length; i++) counts[i] = buckets[i].sum();
+        return new Snapshot(boundsMs, counts, sumNanos.sum());
+    }
+
+    public static class Snapshot {
+
+        private final double[] boundsMs;
+        private final long[] counts;
+        private final long count;
+        private final long sumNanos;
+
+        Snapshot(double[] boundsMs, long[] counts, long sumNanos) {
+            this.boundsMs = boundsMs;
+            this.counts = counts;
+            long total = 0;
+            for (long c : counts) total += c;
+            this.count = total;
+            this.sumNanos = sumNanos;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public double getSumMillis() {
+            return sumNanos / 1_000_000.0;
+        }
+
+        public double getMeanMillis() {
+            return count == 0 ? 0 : getSumMillis() / count;
+        }
+
+        public double getP50Millis() {
+            return percentile(0.50);
+        }
+
+        public double getP95Millis() {
+            return percentile(0.95);
+        }
+
+        public double getP99Millis() {
+            return percentile(0.99);
+        }
+
+        public Map<String, Long> getBuckets() {
+            Map<String, Long> cumulative = new LinkedHashMap<>();
+            long running = 0;
+            for (int i = 0; i < counts.length; i++) {
+                running += counts[i];
+                cumulative.put(i < boundsMs.length ? "le_" + boundsMs[i] : "le_inf", running);
+            }
+            return cumulative;
+        }
+
+        public int size() {
+            return counts.length;
+        }
+
+        public double upperBoundMillis(int bucket) {
+            return bucket < boundsMs.length ? boundsMs[bucket] : Double.POSITIVE_INFINITY;
+        }
+
+        public long cumulativeCount(int bucket) {
+            long running = 0;
+            for (int i = 0; i <= bucket; i++) running += counts[i];
+            return running;
+        }
+
+        private double percentile(double quantile) {
+            if (count == 0) return 0;
+            long rank = (long) Math.ceil(quantile * count);
+            long running = 0;
+            for (int i = 0; i < counts.length; i++) {
+                running += counts[i];
+                if (running >= rank) return i < boundsMs.length ? boundsMs[i] : Double.POSITIVE_INFINITY;
+            }
+            return Double.POSITIVE_INFINITY;
+        }
+    }
+}
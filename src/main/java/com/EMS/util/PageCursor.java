@@ -0,0 +1,66 @@
+package com.EMS.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public class PageCursor {
+
+    private static final char SEPARATOR = '\u001F';
+    private static final String INDEXED = "i";
+
+    private final String lastName;
+    private final String firstName;
+    private final int employeeId;
+    private final boolean indexed;
+
+    public PageCursor(String lastName, String firstName, int employeeId) {
+        this(lastName, firstName, employeeId, false);
+    }
+
+    // The in-memory index and MySQL order names differently (case folding vs collation), so a cursor
+    // remembers which one issued it and the following pages are read from the same place.
+    public PageCursor(String lastName, String firstName, int employeeId, boolean indexed) {
+        this.lastName = lastName;
+        this.firstName = firstName;
+        this.employeeId = employeeId;
+        this.indexed = indexed;
+    }
+
+    public static PageCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int first = raw.indexOf(SEPARATOR);
+            int second = raw.indexOf(SEPARATOR, first + 1);
+            if (first < 0 || second < 0) throw new IllegalArgumentException("Invalid cursor.");
+            int third = raw.indexOf(SEPARATOR, second + 1);
+            String id = third < 0 ? raw.substring(second + 1) : raw.substring(second + 1, third);
+            boolean indexed = third >= 0 && raw.substring(third + 1).equals(INDEXED);
+            return new PageCursor(raw.substring(0, first), raw.substring(first + 1, second),
+                    Integer.parseInt(id), indexed);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor.", e);
+        }
+    }
+
+    public String encode() {
+        String raw = lastName + SEPARATOR + firstName + SEPARATOR + employeeId + (indexed ? SEPARATOR + INDEXED : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public int getEmployeeId() {
+        return employeeId;
+    }
+
+    public boolean isIndexed() {
+        return indexed;
+    }
+}
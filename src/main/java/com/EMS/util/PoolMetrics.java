@@ -0,0 +1,102 @@
+package com.EMS.util;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+public class PoolMetrics implements MetricsTrackerFactory {
+
+    private static final PoolMetrics INSTANCE = new PoolMetrics();
+
+    private final LatencyHistogram acquire = new LatencyHistogram();
+    private final LatencyHistogram usage = new LatencyHistogram(1, 5, 10, 25, 50, 100, 250, 500, 1000, 5000, 30000);
+    private final LatencyHistogram creation = new LatencyHistogram(1, 5, 10, 25, 50, 100, 250, 500, 1000, 5000);
+    private final LongAdder timeouts = new LongAdder();
+    private volatile String poolName;
+    private volatile PoolStats stats;
+
+    private PoolMetrics() {
+    }
+
+    public static PoolMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        this.poolName = poolName;
+        this.stats = poolStats;
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+                creation.recordMillis(connectionCreatedMillis);
+            }
+
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                acquire.recordNanos(elapsedAcquiredNanos);
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                usage.recordMillis(elapsedBorrowedMillis);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                timeouts.increment();
+            }
+        };
+    }
+
+    public int getActive() {
+        return stats != null ? stats.getActiveConnections() : 0;
+    }
+
+    public int getIdle() {
+        return stats != null ? stats.getIdleConnections() : 0;
+    }
+
+    public int getTotal() {
+        return stats != null ? stats.getTotalConnections() : 0;
+    }
+
+    public int getPending() {
+        return stats != null ? stats.getPendingThreads() : 0;
+    }
+
+    public int getMax() {
+        return stats != null ? stats.getMaxConnections() : 0;
+    }
+
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+
+    public LatencyHistogram.Snapshot getAcquireTimes() {
+        return acquire.snapshot();
+    }
+
+    public LatencyHistogram.Snapshot getUsageTimes() {
+        return usage.snapshot();
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("pool", poolName);
+        result.put("active", getActive());
+        result.put("idle", getIdle());
+        result.put("total", getTotal());
+        result.put("max", getMax());
+        result.put("pending", getPending());
+        result.put("timeouts", getTimeouts());
+        result.put("acquireMillis", acquire.snapshot());
+        result.put("usageMillis", usage.snapshot());
+        result.put("creationMillis", creation.snapshot());
+        return result;
+    }
+}
@@ -0,0 +1,99 @@
+package com.EMS.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+public class RequestDeadline {
+
+    private static final ThreadLocal<RequestDeadline> CURRENT = new ThreadLocal<>();
+
+    private final long deadlineNanos;
+    private final Set<Statement> running = ConcurrentHashMap.newKeySet();
+    private volatile boolean cancelled;
+    private volatile boolean busy;
+
+    public RequestDeadline(long timeoutMs) {
+        this.deadlineNanos = System.nanoTime() + timeoutMs * 1_000_000;
+    }
+
+    public <T> T run(Supplier<T> work) {
+        CURRENT.set(this);
+        try {
+            return work.get();
+        } finally {
+            CURRENT.remove();
+        }
+    }
+
+    public boolean isExpired() {
+        return cancelled || System.nanoTime() - deadlineNanos >= 0;
+    }
+
+    public boolean isBusy() {
+        return busy;
+    }
+
+    // Resources catch and wrap errors, so the limiter also flags the request for DbBulkhead to answer 503.
+    static void markBusy() {
+        RequestDeadline deadline = CURRENT.get();
+        if (deadline != null) deadline.busy = true;
+    }
+
+    public void cancel() {
+        cancelled = true;
+        for (Statement statement : running) {
+            try {
+                statement.cancel();
+            } catch (SQLException ignored) {
+            }
+        }
+    }
+
+    public static Connection track(Connection connection) {
+        RequestDeadline deadline = CURRENT.get();
+        if (deadline == null) return connection;
+        return (Connection) Proxy.newProxyInstance(RequestDeadline.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof Statement statement) return deadline.register(statement, method.getName());
+                    return result;
+                });
+    }
+
+    private Statement register(Statement statement, String factory) throws SQLException {
+        if (cancelled) {
+            statement.close();
+            throw new SQLTimeoutException("Request deadline exceeded.");
+        }
+        running.add(statement);
+        Class<?> type = switch (factory) {
+            case "prepareStatement" -> PreparedStatement.class;
+            case "prepareCall" -> CallableStatement.class;
+            default -> Statement.class;
+        };
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getName().equals("close")) running.remove(statement);
+            return invoke(statement, method, args);
+        };
+        return (Statement) Proxy.newProxyInstance(RequestDeadline.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
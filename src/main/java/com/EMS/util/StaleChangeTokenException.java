@@ -0,0 +1,9 @@
+package com.EMS.util;
+
+// The changes after a delta sync token were pruned from the change log; the client has to reload.
+public class StaleChangeTokenException extends RuntimeException {
+
+    public StaleChangeTokenException(String message) {
+        super(message);
+    }
+}
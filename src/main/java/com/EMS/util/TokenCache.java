@@ -0,0 +1,101 @@
+package com.EMS.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class TokenCache {
+
+    private static final TokenCache INSTANCE = new TokenCache();
+    private static final int MAX_ENTRIES = Integer.getInteger("ems.auth.tokenCacheSize", 10_000);
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final Map<String, AuthenticatedUser> entries = new ConcurrentHashMap<>();
+
+    private TokenCache() {
+    }
+
+    public static TokenCache getInstance() {
+        return INSTANCE;
+    }
+
+    public AuthenticatedUser get(String token) {
+        String key = digest(token);
+        AuthenticatedUser user = entries.get(key);
+        if (user == null) return null;
+        if (user.isExpired()) {
+            entries.remove(key, user);
+            return null;
+        }
+        return user;
+    }
+
+    public void put(String token, AuthenticatedUser user) {
+        if (entries.size() >= MAX_ENTRIES) evict();
+        entries.put(digest(token), user);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    private void evict() {
+        entries.values().removeIf(AuthenticatedUser::isExpired);
+        Iterator<String> keys = entries.keySet().iterator();
+        int excess = entries.size() - MAX_ENTRIES * 3 / 4;
+        while (excess-- > 0 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static String digest(String token) {
+        MessageDigest md = SHA256.get();
+        byte[] hash = md.digest(token.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getEncoder().encodeToString(hash);
+    }
+
+    public static class AuthenticatedUser {
+
+        private final String username;
+        private final String role;
+        private final long expiresAt;
+
+        public AuthenticatedUser(String username, String role, long expiresAt) {
+            this.username = username;
+            this.role = role;
+            this.expiresAt = expiresAt;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public String getRole() {
+            return role;
+        }
+
+        public long getExpiresAt() {
+            return expiresAt;
+        }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAt;
+        }
+    }
+}
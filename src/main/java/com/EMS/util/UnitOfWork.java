@@ -0,0 +1,116 @@
+package com.EMS.util;
+
+import com.EMS.metrics.SqlMetrics;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.jdbc.ReturningWork;
+import org.hibernate.jdbc.Work;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+public class UnitOfWork {
+
+    private static final Logger logger = LoggerFactory.getLogger(UnitOfWork.class);
+    private static final ThreadLocal<UnitOfWork> CURRENT = new ThreadLocal<>();
+    private static final JdbcLimiter LIMITER = JdbcLimiter.getInstance();
+    private static final SqlMetrics SQL_METRICS = SqlMetrics.getInstance();
+
+    private final Session session;
+    private final List<Runnable> afterCommit = new ArrayList<>();
+    private final long startNanos = System.nanoTime();
+    private long commitWithinNanos = Long.MAX_VALUE;
+
+    private UnitOfWork(Session session) {
+        this.session = session;
+    }
+
+    public static <T> T inTransaction(Supplier<T> work) {
+        if (CURRENT.get() != null) return work.get();
+        LIMITER.acquire();
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            UnitOfWork unit = new UnitOfWork(session);
+            CURRENT.set(unit);
+            Transaction transaction = session.beginTransaction();
+            T result;
+            try {
+                result = work.get();
+                if (System.nanoTime() - unit.startNanos > unit.commitWithinNanos)
+                    throw new IllegalStateException("Transaction ran longer than "
+                            + unit.commitWithinNanos / 1_000_000 + " ms and was rolled back.");
+                transaction.commit();
+            } catch (RuntimeException e) {
+                if (transaction.isActive()) transaction.rollback();
+                throw e;
+            } finally {
+                CURRENT.remove();
+            }
+            unit.runAfterCommit();
+            return result;
+        } finally {
+            LIMITER.release();
+        }
+    }
+
+    public static void inTransaction(Runnable work) {
+        inTransaction(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    public static <T> T doReturningWork(ReturningWork<T> work) {
+        long start = System.nanoTime();
+        UnitOfWork unit = CURRENT.get();
+        if (unit != null) {
+            return unit.session.doReturningWork(connection -> work.execute(wrap(connection, start)));
+        }
+        LIMITER.acquire();
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            return session.doReturningWork(connection -> work.execute(wrap(connection, start)));
+        } finally {
+            LIMITER.release();
+        }
+    }
+
+    private static Connection wrap(Connection connection, long start) {
+        return RequestDeadline.track(SQL_METRICS.instrument(connection, System.nanoTime() - start));
+    }
+
+    public static void doWork(Work work) {
+        doReturningWork(connection -> {
+            work.execute(connection);
+            return null;
+        });
+    }
+
+    // The current unit refuses to commit once it has been open longer than maxMillis.
+    public static void commitWithin(long maxMillis) {
+        UnitOfWork unit = CURRENT.get();
+        if (unit != null) unit.commitWithinNanos = Math.min(unit.commitWithinNanos, maxMillis * 1_000_000);
+    }
+
+    public static void afterCommit(Runnable callback) {
+        UnitOfWork unit = CURRENT.get();
+        if (unit != null) unit.afterCommit.add(callback);
+        else callback.run();
+    }
+
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    private void runAfterCommit() {
+        for (Runnable callback : afterCommit) {
+            try {
+                callback.run();
+            } catch (RuntimeException e) {
+                logger.error("After-commit callback failed", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+-- Append-only change log behind GET /api/employees/changes.
+-- One row per employee write, inserted in the same transaction as the write itself.
+CREATE TABLE IF NOT EXISTS employee_changes (
+    change_id   BIGINT      NOT NULL AUTO_INCREMENT,
+    employee_id INT         NOT NULL,
+    change_type VARCHAR(10) NOT NULL,
+    changed_at  TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    PRIMARY KEY (change_id),
+    KEY idx_employee_changes_employee (employee_id, change_id)
+) ENGINE = InnoDB;
@@ -0,0 +1,6 @@
+-- Index behind the keyset pages of GET /api/employees and /api/employees/search.
+-- Its order matches ORDER BY last_name, first_name, employee_id under WHERE status = 'ACTIVE', so a
+-- page is an index range read of `limit` entries instead of a filesort of every active employee.
+-- It is not covering: the page query reads the remaining columns from the clustered index and
+-- joins departments and positions.
+CREATE INDEX idx_employees_status_name ON employees (status, last_name, first_name, employee_id);
@@ -0,0 +1,56 @@
+-- Range-partitions past_employees by termination year for GET /api/employees/past.
+-- Date-range filters only touch the matching partitions, and keyset pages walk
+-- (termination_date, past_employee_id) so their cost does not grow with the archive.
+--
+-- MySQL requires the partitioning column in every unique key and does not allow foreign keys
+-- on partitioned tables, so the primary key becomes (past_employee_id, termination_date) and the
+-- department/position constraints are dropped. Archive rows are only ever copied from employees,
+-- whose own constraints still hold.
+CREATE TABLE past_employees_partitioned (
+    past_employee_id     INT            NOT NULL AUTO_INCREMENT,
+    original_employee_id INT            NOT NULL,
+    first_name           VARCHAR(100)   NOT NULL,
+    last_name            VARCHAR(100)   NOT NULL,
+    email                VARCHAR(150)   NOT NULL,
+    phone                VARCHAR(20),
+    department_id        INT            NOT NULL,
+    position_id          INT            NOT NULL,
+    hire_date            DATE           NOT NULL,
+    salary               DECIMAL(12, 2) NOT NULL,
+    termination_date     DATE           NOT NULL,
+    termination_reason   VARCHAR(255),
+    archived_at          TIMESTAMP      NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (past_employee_id, termination_date),
+    KEY idx_past_termination (termination_date, past_employee_id),
+    KEY idx_past_department (department_id, termination_date, past_employee_id),
+    KEY idx_past_reason (termination_reason, termination_date, past_employee_id)
+) ENGINE = InnoDB
+PARTITION BY RANGE COLUMNS (termination_date) (
+    PARTITION p_old VALUES LESS THAN ('2020-01-01'),
+    PARTITION p2020 VALUES LESS THAN ('2021-01-01'),
+    PARTITION p2021 VALUES LESS THAN ('2022-01-01'),
+    PARTITION p2022 VALUES LESS THAN ('2023-01-01'),
+    PARTITION p2023 VALUES LESS THAN ('2024-01-01'),
+    PARTITION p2024 VALUES LESS THAN ('2025-01-01'),
+    PARTITION p2025 VALUES LESS THAN ('2026-01-01'),
+    PARTITION p2026 VALUES LESS THAN ('2027-01-01'),
+    PARTITION p2027 VALUES LESS THAN ('2028-01-01'),
+    PARTITION p2028 VALUES LESS THAN ('2029-01-01'),
+    PARTITION p_future VALUES LESS THAN (MAXVALUE)
+);
+
+INSERT INTO past_employees_partitioned
+SELECT past_employee_id, original_employee_id, first_name, last_name, email, phone, department_id,
+       position_id, hire_date, salary, termination_date, termination_reason, archived_at
+FROM past_employees;
+
+RENAME TABLE past_employees TO past_employees_unpartitioned,
+             past_employees_partitioned TO past_employees;
+
+-- Once a year, before p_future starts filling, split off the next year:
+-- ALTER TABLE past_employees REORGANIZE PARTITION p_future INTO (
+--     PARTITION p2029 VALUES LESS THAN ('2030-01-01'),
+--     PARTITION p_future VALUES LESS THAN (MAXVALUE));
+--
+-- Check pruning with:
+-- EXPLAIN SELECT * FROM past_employees WHERE termination_date BETWEEN '2024-01-01' AND '2024-12-31';
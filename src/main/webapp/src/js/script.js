@@ -1,11 +1,20 @@
 const API_BASE = 'http://localhost:8080/api';
+const PAGE_SIZE = 100;
+// Only the columns the employee table renders.
+const TABLE_FIELDS = 'employeeId,firstName,lastName,email,department.departmentName,position.title,hireDate,salary';
 
 let currentUser = null;
 let allEmployees = [];
+let nextEmployeeCursor = null;
 let departments = [];
 let positions = [];
 let pendingDeleteId = null;
 let pendingDeleteName = null;
+let changeSocket = null;
+let changeEpoch = null;
+let changeSeq = null;
+let reconnectDelay = 1000;
+let dashboardRefresh = null;
 
 
 function getToken() {
@@ -93,6 +102,7 @@ async function handleLogin() {
 }
 
 function handleLogout() {
+    disconnectChanges();
     clearToken();
     currentUser = null;
     document.getElementById('loginScreen').classList.remove('hidden');
@@ -115,9 +125,110 @@ function initApp() {
     }
 
     loadLookups();
+    connectChanges();
     navigateTo('dashboard');
 }
 
+//live updates
+async function connectChanges() {
+    if (changeSocket || !getToken()) return;
+    // The socket is opened with a short-lived one-time ticket so the token never appears in a URL.
+    changeSocket = 'connecting';
+    const {ok, status, data} = await apiFetch('/employees/changes/ticket', {method: 'POST', headers: authHeaders()});
+    if (changeSocket !== 'connecting') return;
+    if (!ok) {
+        changeSocket = null;
+        if (getToken() && status !== 401) scheduleReconnect();
+        return;
+    }
+    const base = API_BASE.replace(/^http/, 'ws').replace(/\/api$/, '');
+    const params = new URLSearchParams({ticket: data.data.ticket});
+    if (changeEpoch && changeSeq !== null) {
+        params.append('epoch', changeEpoch);
+        params.append('since', changeSeq);
+    }
+    const socket = new WebSocket(`${base}/ws/employees?${params}`);
+    changeSocket = socket;
+    socket.onopen = () => reconnectDelay = 1000;
+    socket.onmessage = event => handleChangeMessage(JSON.parse(event.data));
+    socket.onclose = () => {
+        if (changeSocket !== socket) return;
+        changeSocket = null;
+        if (!getToken()) return;
+        scheduleReconnect();
+    };
+}
+
+function scheduleReconnect() {
+    setTimeout(connectChanges, reconnectDelay);
+    reconnectDelay = Math.min(reconnectDelay * 2, 30000);
+}
+
+function disconnectChanges() {
+    const socket = changeSocket;
+    changeSocket = null;
+    changeEpoch = null;
+    changeSeq = null;
+    if (socket && socket !== 'connecting') socket.close();
+}
+
+function liveUpdatesActive() {
+    return changeSocket && changeSocket.readyState === WebSocket.OPEN;
+}
+
+function handleChangeMessage(msg) {
+    if (msg.type === 'hello') {
+        if (changeEpoch && changeEpoch !== msg.epoch) reloadCurrentPage();
+        if (changeEpoch !== msg.epoch || changeSeq === null) changeSeq = msg.seq;
+        changeEpoch = msg.epoch;
+        return;
+    }
+    changeSeq = msg.seq;
+    if (msg.type === 'reset') {
+        reloadCurrentPage();
+        return;
+    }
+    if (msg.type !== 'changes') return;
+    msg.changes.forEach(applyEmployeeChange);
+    if (document.getElementById('page-employees').classList.contains('active')) {
+        if (searchActive()) handleSearch();
+        else renderEmployeeTable(allEmployees, !!nextEmployeeCursor);
+    }
+    if (document.getElementById('page-dashboard').classList.contains('active')) {
+        clearTimeout(dashboardRefresh);
+        dashboardRefresh = setTimeout(loadDashboard, 500);
+    }
+}
+
+function applyEmployeeChange(change) {
+    const index = allEmployees.findIndex(e => e.employeeId === change.id);
+    if (change.type === 'ARCHIVED') {
+        if (index >= 0) allEmployees.splice(index, 1);
+    } else if (index >= 0) {
+        allEmployees[index] = {...allEmployees[index], ...change.fields};
+    } else if (change.type === 'CREATED') {
+        const created = {employeeId: change.id, ...change.fields};
+        const key = e => `${e.lastName}\u0000${e.firstName}`.toLowerCase();
+        const at = allEmployees.findIndex(e => key(e) > key(created));
+        if (at >= 0) allEmployees.splice(at, 0, created);
+        else if (!nextEmployeeCursor) allEmployees.push(created);
+    }
+}
+
+function searchActive() {
+    return ['searchName', 'searchDept', 'searchPos', 'searchDate']
+        .some(id => document.getElementById(id).value.trim() !== '');
+}
+
+function reloadCurrentPage() {
+    const active = document.querySelector('.page.active');
+    if (!active) return;
+    const page = active.id.replace('page-', '');
+    if (page === 'dashboard') loadDashboard();
+    if (page === 'employees') loadEmployees();
+    if (page === 'past') loadPastEmployees();
+}
+
 //navigation
 function navigateTo(page) {
     document.querySelectorAll('.page').forEach(p => p.classList.remove('active'));
@@ -161,6 +272,17 @@ function populateSearchFilters() {
         o.textContent = p.title;
         posSel.appendChild(o);
     });
+
+    const pastDeptSel = document.getElementById('pastDept');
+    const selected = pastDeptSel.value;
+    pastDeptSel.innerHTML = '<option value="">All Departments</option>';
+    departments.forEach(d => {
+        const o = document.createElement('option');
+        o.value = d.departmentId;
+        o.textContent = d.departmentName;
+        pastDeptSel.appendChild(o);
+    });
+    pastDeptSel.value = selected;
 }
 
 function populateModalDropdowns() {
@@ -186,20 +308,14 @@ function populateModalDropdowns() {
 
 //dashboard
 async function loadDashboard() {
-    const [empRes, pastRes] = await Promise.all([
-        apiFetch('/employees', {headers: authHeaders()}),
-        apiFetch('/employees/past', {headers: authHeaders()})
-    ]);
+    const res = await apiFetch('/employees/stats?recent=5', {headers: authHeaders()});
+    const stats = res.ok ? (res.data.data || {}) : {};
 
-    const emps = empRes.ok ? (empRes.data.data || []) : [];
-    const past = pastRes.ok ? (pastRes.data.data || []) : [];
+    document.getElementById('statTotal').textContent = stats.activeEmployees ?? '—';
+    document.getElementById('statDepts').textContent = stats.departments ?? '—';
+    document.getElementById('statPast').textContent = stats.archivedEmployees ?? '—';
 
-    const deptSet = new Set(emps.map(e => e.department?.departmentId));
-    document.getElementById('statTotal').textContent = emps.length;
-    document.getElementById('statDepts').textContent = deptSet.size;
-    document.getElementById('statPast').textContent = past.length;
-
-    const recent = [...emps].slice(-5).reverse();
+    const recent = stats.recentHires || [];
     const recentList = document.getElementById('recentList');
     if (recent.length === 0) {
         recentList.innerHTML = `<div class="empty-state"><p>No employees yet.</p></div>`;
@@ -224,16 +340,31 @@ async function loadDashboard() {
 
 //employees
 async function loadEmployees() {
-    const {ok, data} = await apiFetch('/employees', {headers: authHeaders()});
+    const {ok, data} = await apiFetch(`/employees?limit=${PAGE_SIZE}&fields=${TABLE_FIELDS}`, {headers: authHeaders()});
     if (!ok) {
         showAlert('employeeAlert', 'Failed to load employees.');
         return;
     }
     allEmployees = data.data || [];
-    renderEmployeeTable(allEmployees);
+    nextEmployeeCursor = data.next || null;
+    renderEmployeeTable(allEmployees, !!nextEmployeeCursor);
+}
+
+async function loadMoreEmployees() {
+    if (!nextEmployeeCursor) return;
+    const cursor = encodeURIComponent(nextEmployeeCursor);
+    const {ok, data} = await apiFetch(`/employees?limit=${PAGE_SIZE}&fields=${TABLE_FIELDS}&cursor=${cursor}`,
+        {headers: authHeaders()});
+    if (!ok) {
+        showAlert('employeeAlert', 'Failed to load employees.');
+        return;
+    }
+    allEmployees = allEmployees.concat(data.data || []);
+    nextEmployeeCursor = data.next || null;
+    renderEmployeeTable(allEmployees, !!nextEmployeeCursor);
 }
 
-function renderEmployeeTable(employees) {
+function renderEmployeeTable(employees, hasMore = false) {
     const container = document.getElementById('employeeList');
     if (employees.length === 0) {
         container.innerHTML = `
@@ -299,7 +430,11 @@ function renderEmployeeTable(employees) {
                         </td>
                     </tr>`).join('')}
             </tbody>
-        </table>`;
+        </table>
+        ${hasMore ? `
+        <div class="load-more">
+            <button class="btn btn-secondary" onclick="loadMoreEmployees()">Load more</button>
+        </div>` : ''}`;
 }
 
 //search
@@ -313,14 +448,13 @@ function handleSearch() {
         const pos = document.getElementById('searchPos').value;
         const date = document.getElementById('searchDate').value;
 
-        const params = new URLSearchParams();
+        const params = new URLSearchParams({fields: TABLE_FIELDS});
         if (name) params.append('name', name);
         if (dept) params.append('department', dept);
         if (pos) params.append('position', pos);
         if (date) params.append('hireDate', date);
 
-        const qs = params.toString();
-        const {ok, data} = await apiFetch(`/employees/search${qs ? '?' + qs : ''}`,
+        const {ok, data} = await apiFetch(`/employees/search?${params}`,
             {headers: authHeaders()});
         if (ok) renderEmployeeTable(data.data || []);
     }, 300);
@@ -331,7 +465,7 @@ function clearSearch() {
     document.getElementById('searchDept').value = '';
     document.getElementById('searchPos').value = '';
     document.getElementById('searchDate').value = '';
-    renderEmployeeTable(allEmployees);
+    renderEmployeeTable(allEmployees, !!nextEmployeeCursor);
 }
 
 //view employee
@@ -436,7 +570,7 @@ async function saveEmployee() {
     if (ok && data.success) {
         closeEmployeeModal();
         showAlert('employeeAlert', data.message, 'success');
-        loadEmployees();
+        if (!liveUpdatesActive()) loadEmployees();
     } else {
         showAlert('modalAlert', data.message || 'An error occurred.');
     }
@@ -470,23 +604,65 @@ async function confirmDelete() {
 
     if (ok && data.success) {
         showAlert('employeeAlert', `${pendingDeleteName || 'Employee'} has been archived to Past Employees.`, 'success');
-        loadEmployees();
+        if (!liveUpdatesActive()) loadEmployees();
     } else {
         showAlert('employeeAlert', data.message || 'Failed to archive employee.');
     }
 }
 
 //past employees
-async function loadPastEmployees() {
-    const {ok, data} = await apiFetch('/employees/past', {headers: authHeaders()});
-    const container = document.getElementById('pastList');
+let pastEmployees = [];
+let nextPastCursor = null;
+let pastFilterTimeout;
+
+function pastQuery() {
+    const params = new URLSearchParams({limit: PAGE_SIZE});
+    const from = document.getElementById('pastFrom').value;
+    const to = document.getElementById('pastTo').value;
+    const dept = document.getElementById('pastDept').value;
+    const reason = document.getElementById('pastReason').value.trim();
+    if (from) params.append('from', from);
+    if (to) params.append('to', to);
+    if (dept) params.append('departmentId', dept);
+    if (reason) params.append('reason', reason);
+    return params;
+}
 
+async function loadPastEmployees() {
+    const {ok, data} = await apiFetch(`/employees/past?${pastQuery()}`, {headers: authHeaders()});
     if (!ok) {
-        container.innerHTML = `<div class="empty-state"><p>Failed to load past employees.</p></div>`;
+        document.getElementById('pastList').innerHTML =
+            `<div class="empty-state"><p>${data?.message || 'Failed to load past employees.'}</p></div>`;
         return;
     }
+    pastEmployees = data.data || [];
+    nextPastCursor = data.next || null;
+    renderPastTable(pastEmployees, !!nextPastCursor);
+}
 
-    const past = data.data || [];
+async function loadMorePastEmployees() {
+    if (!nextPastCursor) return;
+    const params = pastQuery();
+    params.append('cursor', nextPastCursor);
+    const {ok, data} = await apiFetch(`/employees/past?${params}`, {headers: authHeaders()});
+    if (!ok) return;
+    pastEmployees = pastEmployees.concat(data.data || []);
+    nextPastCursor = data.next || null;
+    renderPastTable(pastEmployees, !!nextPastCursor);
+}
+
+function handlePastFilter() {
+    clearTimeout(pastFilterTimeout);
+    pastFilterTimeout = setTimeout(loadPastEmployees, 300);
+}
+
+function clearPastFilter() {
+    ['pastFrom', 'pastTo', 'pastDept', 'pastReason'].forEach(id => document.getElementById(id).value = '');
+    loadPastEmployees();
+}
+
+function renderPastTable(past, hasMore = false) {
+    const container = document.getElementById('pastList');
 
     if (past.length === 0) {
         container.innerHTML = `
@@ -528,7 +704,11 @@ async function loadPastEmployees() {
                         <td>${fmt(e.salary, 'currency')}</td>
                     </tr>`).join('')}
             </tbody>
-        </table>`;
+        </table>
+        ${hasMore ? `
+        <div class="load-more">
+            <button class="btn btn-secondary" onclick="loadMorePastEmployees()">Load more</button>
+        </div>` : ''}`;
 }
 
 function closeModalOnOverlay(event) {